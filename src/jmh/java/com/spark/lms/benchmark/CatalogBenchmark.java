@@ -0,0 +1,163 @@
+package com.spark.lms.benchmark;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.spark.lms.LibTrackApplication;
+import com.spark.lms.common.Constants;
+import com.spark.lms.dto.DashboardStats;
+import com.spark.lms.model.Book;
+import com.spark.lms.repository.BookRepository;
+import com.spark.lms.repository.MemberRepository;
+import com.spark.lms.service.BookService;
+import com.spark.lms.service.CategoryService;
+import com.spark.lms.service.MemberService;
+
+/**
+ * Book search and dashboard counts against an embedded H2 database seeded with a synthetic catalog
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogBenchmark {
+
+    private static final String[] WORDS = { "Algorithms", "Java", "History", "Physics", "Chemistry",
+            "Biology", "Databases", "Networks", "Poetry", "Economics", "Calculus", "Geometry" };
+    
+    private static final String[] AUTHORS = { "Knuth", "Bloch", "Tanenbaum", "Feynman", "Hawking",
+            "Austen", "Tolstoy", "Dijkstra", "Lamport", "Hopper" };
+    
+    @Param({ "10000", "100000" })
+    public int catalogSize;
+    
+    @Param({ "java", "feyn", "978-1-0" })
+    public String keyword;
+    
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private BookRepository bookRepository;
+    private MemberService memberService;
+    private MemberRepository memberRepository;
+    private CategoryService categoryService;
+    
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(LibTrackApplication.class)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "spring.sql.init.mode=never",
+                        "spring.devtools.restart.enabled=false",
+                        "server.port=0",
+                        "logging.level.com.spark.lms=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN")
+                .run();
+        
+        bookService = context.getBean(BookService.class);
+        bookRepository = context.getBean(BookRepository.class);
+        memberService = context.getBean(MemberService.class);
+        memberRepository = context.getBean(MemberRepository.class);
+        categoryService = context.getBean(CategoryService.class);
+        
+        seed(context.getBean(JdbcTemplate.class));
+        bookService.buildSearchIndex();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        
+        List<Object[]> categories = new ArrayList<>();
+        for (int k = 0; k < WORDS.length; k++) {
+            categories.add(new Object[] { WORDS[k], WORDS[k].substring(0, 3).toUpperCase(), now });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO category (name, short_name, created_date) VALUES (?, ?, ?)", categories);
+        Long firstCategoryId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM category", Long.class);
+        
+        List<Object[]> books = new ArrayList<>();
+        for (int k = 0; k < catalogSize; k++) {
+            String title = WORDS[k % WORDS.length] + " and " + WORDS[(k * 7 + 3) % WORDS.length] + " Volume " + k;
+            String authors = AUTHORS[k % AUTHORS.length] + ", " + AUTHORS[(k * 3 + 1) % AUTHORS.length];
+            String isbn = String.format("978-%d-%04d-%04d", k % 10, (k / 10000) % 10000, k % 10000);
+            Integer status = k % 10 == 0 ? Constants.BOOK_STATUS_ISSUED : Constants.BOOK_STATUS_AVAILABLE;
+            int copies = 1 + k % 3;
+            int available = status.equals(Constants.BOOK_STATUS_ISSUED) ? 0 : copies;
+            books.add(new Object[] { title, "T" + k, authors, isbn, firstCategoryId + (k % WORDS.length), now, status,
+                    copies, available });
+            if (books.size() == 1000) {
+                insertBooks(jdbcTemplate, books);
+                books.clear();
+            }
+        }
+        insertBooks(jdbcTemplate, books);
+        
+        List<Object[]> members = new ArrayList<>();
+        for (int k = 0; k < catalogSize / 10; k++) {
+            String type = Constants.MEMBER_TYPES.get(k % Constants.MEMBER_TYPES.size());
+            members.add(new Object[] { type, "First" + k, "Last" + k, now });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO member (type, first_name, last_name, joining_date) VALUES (?, ?, ?, ?)", members);
+    }
+    
+    private void insertBooks(JdbcTemplate jdbcTemplate, List<Object[]> books) {
+        jdbcTemplate.batchUpdate("INSERT INTO book (title, tag, authors, isbn, category_id, created_date, status, " +
+                "num_of_copies, available_copies) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", books);
+    }
+    
+    @Benchmark
+    public List<Book> searchIndex() {
+        return bookService.search(keyword);
+    }
+    
+    @Benchmark
+    public List<Book> searchLike() {
+        return bookRepository.findByTitleContainingOrAuthorsContainingOrIsbnContaining(keyword, keyword, keyword);
+    }
+    
+    @Benchmark
+    public long dashboardSeparateCounts() {
+        return memberService.getTotalCount()
+                + memberService.getStudentsCount()
+                + memberService.getParentsCount()
+                + categoryService.getTotalCount()
+                + bookService.getTotalCount()
+                + bookService.getTotalIssuedBooks();
+    }
+    
+    @Benchmark
+    public DashboardStats dashboardAggregate() {
+        return memberRepository.fetchDashboardStats(Constants.MEMBER_STUDENT, Constants.MEMBER_PARENT);
+    }
+}
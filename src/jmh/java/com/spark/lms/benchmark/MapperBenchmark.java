@@ -0,0 +1,81 @@
+package com.spark.lms.benchmark;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.spark.lms.common.Constants;
+import com.spark.lms.dto.BookDTO;
+import com.spark.lms.dto.MemberDTO;
+import com.spark.lms.model.Book;
+import com.spark.lms.model.Category;
+import com.spark.lms.model.Member;
+import com.spark.lms.util.Mapper;
+
+/**
+ * Throughput of the entity to DTO mappings used by the REST layer
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private Mapper mapper;
+    private Book book;
+    private Member member;
+    
+    @Setup
+    public void setup() {
+        mapper = new Mapper();
+        
+        Category category = new Category();
+        category.setId(1L);
+        category.setName("Computer Science");
+        
+        book = new Book();
+        book.setId(42L);
+        book.setTitle("Introduction to Algorithms");
+        book.setTag("CS-0042");
+        book.setAuthors("Cormen, Leiserson, Rivest, Stein");
+        book.setPublisher("MIT Press");
+        book.setIsbn("978-0262033848");
+        book.setYearOfPublication(2009);
+        book.setNumOfCopies(3);
+        book.setCategory(category);
+        book.setCreatedDate(new Date());
+        book.setStatus(Constants.BOOK_STATUS_AVAILABLE);
+        
+        member = new Member();
+        member.setId(7L);
+        member.setType(Constants.MEMBER_STUDENT);
+        member.setFirstName("Ada");
+        member.setLastName("Lovelace");
+        member.setGender("Female");
+        member.setContact("9876543210");
+        member.setEmail("ada@example.com");
+        member.setJoiningDate(new Date());
+    }
+    
+    @Benchmark
+    public BookDTO toBookDTO() {
+        return mapper.toBookDTO(book);
+    }
+    
+    @Benchmark
+    public MemberDTO toMemberDTO() {
+        return mapper.toMemberDTO(member);
+    }
+}
@@ -0,0 +1,74 @@
+package com.spark.lms.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.spark.lms.common.Constants;
+import com.spark.lms.model.Issue;
+import com.spark.lms.model.IssuedBook;
+
+/**
+ * The in-memory filter IssueService.getAllUnreturned used to run over every issue ever made
+ * Kept as a baseline for the cost the indexed EXISTS query avoids as loan history grows
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnreturnedFilterBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int issueCount;
+    
+    // Percentage of issues that still have a book out
+    @Param({ "5" })
+    public int openPercent;
+    
+    private List<Issue> issues;
+    
+    @Setup
+    public void setup() {
+        issues = new ArrayList<>(issueCount);
+        for (int k = 0; k < issueCount; k++) {
+            Issue issue = new Issue();
+            issue.setId((long) k);
+            
+            List<IssuedBook> issuedBooks = new ArrayList<>();
+            for (int b = 0; b < 3; b++) {
+                IssuedBook ib = new IssuedBook();
+                ib.setIssue(issue);
+                ib.setReturned(Constants.BOOK_RETURNED);
+                issuedBooks.add(ib);
+            }
+            if (k % 100 < openPercent) {
+                issuedBooks.get(2).setReturned(Constants.BOOK_NOT_RETURNED);
+            }
+            issue.setIssuedBooks(issuedBooks);
+            issues.add(issue);
+        }
+    }
+    
+    @Benchmark
+    public List<Issue> streamFilter() {
+        return issues.stream()
+            .filter(issue -> issue.getIssuedBooks().stream()
+                .anyMatch(book -> Constants.BOOK_NOT_RETURNED.equals(book.getReturned())))
+            .collect(Collectors.toList());
+    }
+}
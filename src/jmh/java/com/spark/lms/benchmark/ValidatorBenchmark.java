@@ -0,0 +1,61 @@
+package com.spark.lms.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.spark.lms.util.PasswordValidator;
+import com.spark.lms.util.SQLInjectionValidator;
+
+/**
+ * Cost of the regex based input validators on typical and hostile input
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorBenchmark {
+
+    @Param({ "Introduction to Algorithms", "x' OR 1=1; DROP TABLE book --" })
+    public String input;
+    
+    @Param({ "library", "S3cure!Passw0rd" })
+    public String password;
+    
+    private SQLInjectionValidator sqlInjectionValidator;
+    private PasswordValidator passwordValidator;
+    
+    @Setup
+    public void setup() {
+        sqlInjectionValidator = new SQLInjectionValidator();
+        passwordValidator = new PasswordValidator();
+    }
+    
+    @Benchmark
+    public boolean sqlInjectionIsSafe() {
+        return sqlInjectionValidator.isSafe(input);
+    }
+    
+    @Benchmark
+    public boolean passwordIsStrong() {
+        return passwordValidator.isStrong(password);
+    }
+    
+    @Benchmark
+    public List<String> passwordValidationErrors() {
+        return passwordValidator.getValidationErrors(password);
+    }
+}
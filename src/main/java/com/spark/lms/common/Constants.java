@@ -9,6 +9,13 @@ public class Constants {
     public static final Integer BOOK_STATUS_AVAILABLE = 1;
     public static final Integer BOOK_STATUS_ISSUED = 2;
     
+    // Keyset pagination page sizes
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    
+    // Cache names
+    public static final String CACHE_CATEGORIES = "categories";
+    
     // Book return status constants
     public static final Integer BOOK_RETURNED = 1;
     public static final Integer BOOK_NOT_RETURNED = 0;
@@ -0,0 +1,71 @@
+package com.spark.lms.configuration;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import com.spark.lms.dto.BookImportProgress;
+import com.spark.lms.service.BookImportService;
+
+/**
+ * Imports a CSV file of books at startup
+ * Only active when libtrack.import.file is set; with libtrack.import.exit=true
+ * the application shuts down once the import is done, for one-off command line loads.
+ */
+@Component
+@ConditionalOnProperty(prefix = "libtrack.import", name = "file")
+public class BookImportRunner implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookImportRunner.class);
+
+    @Autowired
+    private BookImportService bookImportService;
+
+    @Autowired
+    private ConfigurableApplicationContext applicationContext;
+
+    @Value("${libtrack.import.file}")
+    private String file;
+
+    @Value("${libtrack.import.exit:false}")
+    private boolean exitWhenDone;
+
+    @Override
+    public void run(String... args) throws Exception {
+        logger.info("Importing books from {}", file);
+        BookImportProgress result;
+        try (Reader reader = Files.newBufferedReader(Path.of(file), StandardCharsets.UTF_8)) {
+            result = bookImportService.importCsv(reader, progress -> {
+                if (!progress.done()) {
+                    logger.info("Import progress: {} rows read, {} imported, {} skipped ({} ms)",
+                            progress.rows(), progress.imported(), progress.skipped(), progress.elapsedMs());
+                }
+            });
+            for (String error : result.errors()) {
+                logger.warn("Import skipped {}", error);
+            }
+            if (result.skipped() > result.errors().size()) {
+                logger.warn("{} more rows skipped", result.skipped() - result.errors().size());
+            }
+            if (result.failure() != null) {
+                logger.error("Import stopped early: {}", result.failure());
+            }
+        }
+
+        if (exitWhenDone) {
+            int exitCode = result.failure() == null ? 0 : 1;
+            System.exit(SpringApplication.exit(applicationContext, () -> exitCode));
+        }
+    }
+}
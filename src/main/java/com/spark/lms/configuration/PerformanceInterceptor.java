@@ -1,30 +1,56 @@
 package com.spark.lms.configuration;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.ModelAndView;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 /**
  * Interceptor for monitoring request performance
+ * Publishes a latency timer per matched route pattern, HTTP method and status
  */
 public class PerformanceInterceptor implements HandlerInterceptor {
 
     private static final Logger logger = LoggerFactory.getLogger(PerformanceInterceptor.class);
-    private static final String REQUEST_START_TIME = "requestStartTime";
+    private static final String REQUEST_TIMER_SAMPLE = "requestTimerSample";
+    
+    public static final String TIMER_NAME = "libtrack.http.route";
+    
+    // Route used when no handler pattern matched (e.g. 404s)
+    private static final String UNKNOWN_ROUTE = "UNKNOWN";
+    
+    // Percentiles and max are computed over this sliding window
+    private static final Duration WINDOW = Duration.ofMinutes(5);
+    
+    private final MeterRegistry meterRegistry;
     
     // Threshold in milliseconds for slow request warning
-    private static final long SLOW_REQUEST_THRESHOLD_MS = 500;
+    private final long slowRequestThresholdMs;
+    
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    
+    public PerformanceInterceptor(MeterRegistry meterRegistry, long slowRequestThresholdMs) {
+        this.meterRegistry = meterRegistry;
+        this.slowRequestThresholdMs = slowRequestThresholdMs;
+    }
 
     /**
-     * Pre-handle method to record the start time of the request
+     * Pre-handle method to start the request timer
      */
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-        request.setAttribute(REQUEST_START_TIME, System.currentTimeMillis());
+        request.setAttribute(REQUEST_TIMER_SAMPLE, Timer.start(meterRegistry));
         return true;
     }
 
@@ -38,27 +64,41 @@ public class PerformanceInterceptor implements HandlerInterceptor {
     }
 
     /**
-     * After-completion method to log request processing time
+     * After-completion method to record and log request processing time
      */
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex)
             throws Exception {
-        Long startTime = (Long) request.getAttribute(REQUEST_START_TIME);
-        if (startTime != null) {
-            long endTime = System.currentTimeMillis();
-            long executionTime = endTime - startTime;
-            
-            String path = request.getRequestURI();
+        Timer.Sample sample = (Timer.Sample) request.getAttribute(REQUEST_TIMER_SAMPLE);
+        if (sample != null) {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String route = pattern != null ? pattern.toString() : UNKNOWN_ROUTE;
             String method = request.getMethod();
             int status = response.getStatus();
             
+            long executionTime = TimeUnit.NANOSECONDS.toMillis(sample.stop(timer(route, method, status)));
+            
             // Log all requests at debug level
-            logger.debug("Request: {} {} - {} ms, status: {}", method, path, executionTime, status);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Request: {} {} - {} ms, status: {}", method, request.getRequestURI(), executionTime, status);
+            }
             
             // Log slow requests at warning level
-            if (executionTime > SLOW_REQUEST_THRESHOLD_MS) {
-                logger.warn("Slow request detected: {} {} - {} ms, status: {}", method, path, executionTime, status);
+            if (executionTime > slowRequestThresholdMs) {
+                logger.warn("Slow request detected: {} {} - {} ms, status: {}", method, request.getRequestURI(), executionTime, status);
             }
         }
     }
+    
+    private Timer timer(String route, String method, int status) {
+        return timers.computeIfAbsent(method + " " + route + " " + status, key -> Timer.builder(TIMER_NAME)
+                .description("Request latency per matched route")
+                .tag("uri", route)
+                .tag("method", method)
+                .tag("status", Integer.toString(status))
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .distributionStatisticExpiry(WINDOW)
+                .register(meterRegistry));
+    }
 }
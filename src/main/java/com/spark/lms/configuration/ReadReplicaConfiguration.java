@@ -0,0 +1,70 @@
+package com.spark.lms.configuration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Configuration for read-replica routing
+ * Only active when libtrack.datasource.replica.jdbc-url is set; otherwise the
+ * auto-configured single pool on spring.datasource is used unchanged.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "libtrack.datasource.replica", name = "jdbc-url")
+public class ReadReplicaConfiguration {
+
+    /**
+     * Create the primary pool from spring.datasource and spring.datasource.hikari
+     * 
+     * @param properties the spring.datasource properties
+     * @return the primary HikariDataSource
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Create the replica pool from libtrack.datasource.replica
+     * The pool connects lazily, so an unreachable replica does not prevent startup
+     * 
+     * @return the replica HikariDataSource
+     */
+    @Bean
+    @ConfigurationProperties("libtrack.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Create the DataSource used by JPA, routing read-only transactions to the replica
+     * 
+     * @param primary the primary pool
+     * @param replica the replica pool
+     * @param retryDelayMs how long to stay on the primary after the replica fails
+     * @return the routing DataSource
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${libtrack.datasource.replica-retry-delay-ms:30000}") long retryDelayMs) {
+        return new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(primary, replica, retryDelayMs));
+    }
+}
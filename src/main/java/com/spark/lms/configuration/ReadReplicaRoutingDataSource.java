@@ -0,0 +1,90 @@
+package com.spark.lms.configuration;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DataSource that sends read-only transactions to a replica pool
+ * Everything else, and read-only work while the replica is unreachable, goes to the primary.
+ * Must be wrapped in a LazyConnectionDataSourceProxy so the connection is requested after
+ * the transaction's read-only flag has been bound.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long retryDelayNanos;
+
+    // System.nanoTime() before which the replica is skipped after a failure
+    private volatile long replicaRetryAt;
+    private volatile boolean replicaDown = false;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, long retryDelayMs) {
+        this.primary = primary;
+        this.replica = replica;
+        this.retryDelayNanos = TimeUnit.MILLISECONDS.toNanos(retryDelayMs);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (useReplica()) {
+            try {
+                Connection connection = replica.getConnection();
+                replicaUp();
+                return connection;
+            } catch (SQLException | RuntimeException ex) {
+                replicaFailed(ex);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (useReplica()) {
+            try {
+                Connection connection = replica.getConnection(username, password);
+                replicaUp();
+                return connection;
+            } catch (SQLException | RuntimeException ex) {
+                replicaFailed(ex);
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Whether the current transaction is read-only and the replica is not in its back-off window
+     */
+    private boolean useReplica() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return false;
+        }
+        return !replicaDown || System.nanoTime() - replicaRetryAt >= 0;
+    }
+
+    private void replicaUp() {
+        if (replicaDown) {
+            replicaDown = false;
+            logger.info("Read replica reachable again, routing read-only transactions to it");
+        }
+    }
+
+    private void replicaFailed(Exception ex) {
+        if (!replicaDown) {
+            logger.warn("Read replica unavailable, falling back to the primary: {}", ex.getMessage());
+        }
+        replicaRetryAt = System.nanoTime() + retryDelayNanos;
+        replicaDown = true;
+    }
+}
@@ -58,6 +58,7 @@ public class SecurityConfiguration {
                 .requestMatchers("/home").hasAnyAuthority(Constants.ROLE_ADMIN, Constants.ROLE_LIBRARIAN, Constants.ROLE_STUDENT)
                 .requestMatchers("/book/**", "/category/**", "/member/**", "/issue/**").hasAnyAuthority(Constants.ROLE_ADMIN, Constants.ROLE_LIBRARIAN)
                 .requestMatchers("/student/books").hasAuthority(Constants.ROLE_STUDENT)
+                .requestMatchers("/rest/book/import").hasAnyAuthority(Constants.ROLE_ADMIN, Constants.ROLE_LIBRARIAN)
                 .anyRequest().authenticated()
             )
             // Enable CSRF protection with secure cookie
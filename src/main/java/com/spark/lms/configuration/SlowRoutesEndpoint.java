@@ -0,0 +1,65 @@
+package com.spark.lms.configuration;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+/**
+ * Actuator endpoint listing the ten slowest routes by p99 latency
+ * Percentiles and max cover the PerformanceInterceptor sliding window, the count is cumulative
+ */
+@Component
+@Endpoint(id = "slowroutes")
+public class SlowRoutesEndpoint {
+
+    private static final int LIMIT = 10;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @ReadOperation
+    public List<RouteLatency> slowRoutes() {
+        List<RouteLatency> routes = new ArrayList<>();
+        for (Timer timer : meterRegistry.find(PerformanceInterceptor.TIMER_NAME).timers()) {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            routes.add(new RouteLatency(
+                    timer.getId().getTag("method"),
+                    timer.getId().getTag("uri"),
+                    timer.getId().getTag("status"),
+                    snapshot.count(),
+                    percentile(snapshot, 0.5),
+                    percentile(snapshot, 0.95),
+                    percentile(snapshot, 0.99),
+                    snapshot.max(TimeUnit.MILLISECONDS)));
+        }
+        routes.sort(Comparator.comparingDouble(RouteLatency::p99Ms).reversed());
+        return routes.subList(0, Math.min(LIMIT, routes.size()));
+    }
+
+    private static double percentile(HistogramSnapshot snapshot, double percentile) {
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            if (value.percentile() == percentile) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Latency summary of one route
+     */
+    public record RouteLatency(String method, String uri, String status, long count,
+            double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+    }
+}
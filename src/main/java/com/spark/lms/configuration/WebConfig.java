@@ -1,5 +1,8 @@
 package com.spark.lms.configuration;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
@@ -7,12 +10,22 @@ import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 /**
  * Web MVC configuration for the application
  */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    // Absent in sliced tests such as @WebMvcTest, which do not auto-configure metrics
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+    
+    @Value("${libtrack.http.slow-threshold-ms:500}")
+    private long slowRequestThresholdMs;
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         registry
@@ -69,6 +82,7 @@ public class WebConfig implements WebMvcConfigurer {
      */
     @Bean
     public PerformanceInterceptor performanceInterceptor() {
-        return new PerformanceInterceptor();
+        return new PerformanceInterceptor(meterRegistry.getIfAvailable(SimpleMeterRegistry::new),
+                slowRequestThresholdMs);
     }
 }
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -11,8 +12,10 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.spark.lms.dto.CursorPage;
 import com.spark.lms.model.Book;
 import com.spark.lms.model.Category;
 import com.spark.lms.service.BookService;
@@ -36,8 +39,11 @@ public class BookController {
     }
     
     @RequestMapping(value = {"/", "/list"}, method = RequestMethod.GET)
-    public String showBooksPage(Model model) {
-        model.addAttribute("books", bookService.getAll());
+    public String showBooksPage(@RequestParam(name = "after", required = false) Long after,
+            @RequestParam(name = "size", required = false) Integer size, Model model) {
+        CursorPage<Book> page = bookService.getPage(after, size);
+        model.addAttribute("books", page.getItems());
+        model.addAttribute("page", page);
         return "book/list";
     }
     
@@ -82,7 +88,14 @@ public class BookController {
                 return "book/form";
             }
             
-            bookService.save(book);
+            try {
+                bookService.save(book);
+            } catch (ObjectOptimisticLockingFailureException ex) {
+                // Someone else saved (or issued/returned) the book since this form was loaded
+                redirectAttributes.addFlashAttribute("errorMsg", "'" + book.getTitle()
+                        + "' was changed by someone else. Your changes were not saved; please review the latest version.");
+                return "redirect:/book/edit/" + book.getId();
+            }
             redirectAttributes.addFlashAttribute("successMsg", "Changes for '" + book.getTitle() + "' are saved successfully.");
             return "redirect:/book/edit/" + book.getId();
         }
@@ -94,7 +107,7 @@ public class BookController {
         if(book != null) {
             if(bookService.hasUsage(book)) {
                 model.addAttribute("bookInUse", true);
-                return showBooksPage(model);
+                return showBooksPage(null, null, model);
             } else {
                 bookService.delete(id);
             }
@@ -3,14 +3,17 @@ package com.spark.lms.controller;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.spark.lms.common.Constants;
 import com.spark.lms.model.Category;
+import com.spark.lms.model.Issue;
 import com.spark.lms.service.CategoryService;
 import com.spark.lms.service.IssueService;
 
@@ -35,8 +38,11 @@ public class IssueController {
 	}
 	
 	@RequestMapping(value = {"/", "/list"}, method = RequestMethod.GET)
-	public String listIssuePage(Model model) {
-		model.addAttribute("issues", issueService.getAllUnreturned());
+	public String listIssuePage(@RequestParam(name = "page", defaultValue = "0") int page,
+			@RequestParam(name = "size", required = false) Integer size, Model model) {
+		Page<Issue> issues = issueService.getUnreturned(page, size);
+		model.addAttribute("issues", issues.getContent());
+		model.addAttribute("issuesPage", issues);
 		return "issue/list";
 	}
 	
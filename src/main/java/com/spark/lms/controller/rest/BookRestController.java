@@ -1,17 +1,37 @@
 package com.spark.lms.controller.rest;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spark.lms.dto.BookCopies;
+import com.spark.lms.dto.BookDTO;
+import com.spark.lms.dto.BookSuggestion;
+import com.spark.lms.dto.CursorPage;
 import com.spark.lms.model.Book;
 import com.spark.lms.model.Category;
+import com.spark.lms.service.BookImportService;
 import com.spark.lms.service.BookService;
 import com.spark.lms.service.CategoryService;
+import com.spark.lms.util.Mapper;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 @RequestMapping(value = "/rest/book")
@@ -23,6 +43,38 @@ public class BookRestController {
     @Autowired
     private CategoryService categoryService;
     
+    @Autowired
+    private Mapper mapper;
+    
+    @Autowired
+    private BookImportService bookImportService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @GetMapping
+    public CursorPage<BookDTO> getBooks(@RequestParam(name = "after", required = false) Long after,
+            @RequestParam(name = "size", required = false) Integer size) {
+        CursorPage<Book> page = bookService.getPage(after, size);
+        List<BookDTO> items = page.getItems().stream()
+                .map(mapper::toBookDTO)
+                .collect(Collectors.toList());
+        return new CursorPage<>(items, page.getNextCursor(), page.getSize());
+    }
+    
+    @GetMapping("/suggest")
+    public List<BookSuggestion> suggest(@RequestParam("q") String q,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "available", defaultValue = "false") boolean available,
+            @RequestParam(name = "categoryId", required = false) Long categoryId) {
+        return bookService.suggest(q, limit, available, categoryId);
+    }
+    
+    @GetMapping("/{id}/copies")
+    public BookCopies getCopies(@PathVariable Long id) {
+        return bookService.getCopies(id);
+    }
+    
     @GetMapping("/{categoryId}/available")
     public List<Book> getAvailableBooksByCategory(@PathVariable Long categoryId) {
         Category category = categoryService.get(categoryId);
@@ -31,4 +83,33 @@ public class BookRestController {
         }
         return null;
     }
+    
+    @GetMapping("/{categoryId}/available/count")
+    public long countAvailableBooksByCategory(@PathVariable Long categoryId) {
+        return bookService.countAvailableByCategory(categoryId);
+    }
+    
+    /**
+     * Bulk import books from a CSV request body
+     * The body is parsed while it is uploaded; one JSON progress line is written
+     * and flushed after every chunk, followed by the final report.
+     * Only text/csv is accepted: /rest/** is exempt from CSRF, and unlike text/plain it is
+     * not a "simple" content type, so browsers preflight cross-origin uploads and CORS applies.
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public void importBooks(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        try (Reader reader = new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)) {
+            bookImportService.importCsv(reader, progress -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(progress));
+                    out.write('\n');
+                    out.flush();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+    }
 }
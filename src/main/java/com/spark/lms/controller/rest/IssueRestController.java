@@ -1,11 +1,13 @@
 package com.spark.lms.controller.rest;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,25 +17,14 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.spark.lms.common.Constants;
-import com.spark.lms.model.Book;
-import com.spark.lms.model.Issue;
-import com.spark.lms.model.IssuedBook;
-import com.spark.lms.model.Member;
-import com.spark.lms.service.BookService;
 import com.spark.lms.service.IssueService;
 import com.spark.lms.service.IssuedBookService;
-import com.spark.lms.service.MemberService;
 
 @RestController
 @RequestMapping(value = "/rest/issue")
 public class IssueRestController {
 
-    @Autowired
-    private MemberService memberService;
-    
-    @Autowired
-    private BookService bookService;
+    private static final Logger logger = LoggerFactory.getLogger(IssueRestController.class);
     
     @Autowired
     private IssueService issueService;
@@ -55,52 +46,19 @@ public class IssueRestController {
                 bookIds.add(Long.parseLong(bookIdsStr[k]));
             }
         } catch (NumberFormatException ex) {
-            ex.printStackTrace();
+            logger.warn("Invalid member or book ID in issue payload: {}", payload, ex);
             return "invalid number format";
         }
         
-        Member member = memberService.get(memberId);
-        List<Book> books = bookService.get(bookIds);
-        
-        Issue issue = new Issue();
-        issue.setMember(member);
-        issue.setCreatedDate(new Date());
-        issue = issueService.addNew(issue);
-        
-        for(int k=0; k<books.size(); k++) {
-            Book book = books.get(k);
-            book.setStatus(Constants.BOOK_STATUS_ISSUED);
-            book = bookService.save(book);
-            
-            IssuedBook ib = new IssuedBook();
-            ib.setBook(book);
-            ib.setIssue(issue);
-            ib.setReturned(Constants.BOOK_NOT_RETURNED);
-            issuedBookService.addNew(ib);
-        }
+        issueService.checkout(memberId, bookIds);
         
         return "success";
     }
     
     @RequestMapping(value = "/{id}/return/all", method = RequestMethod.GET)
     public String returnAll(@PathVariable(name = "id") Long id) {
-        Issue issue = issueService.get(id);
-        if(issue != null) {
-            List<IssuedBook> issuedBooks = issue.getIssuedBooks();
-            for(int k=0; k<issuedBooks.size(); k++) {
-                IssuedBook ib = issuedBooks.get(k);
-                ib.setReturned(Constants.BOOK_RETURNED);
-                ib.setReturnedDate(new Date());
-                issuedBookService.save(ib);
-                
-                Book book = ib.getBook();
-                book.setStatus(Constants.BOOK_STATUS_AVAILABLE);
-                bookService.save(book);
-            }
-            
-            issue.setStatus(Constants.BOOK_RETURNED);
-            issueService.save(issue);
-            
+        if(issueService.exists(id)) {
+            issuedBookService.returnAll(id);
             return "successful";
         } else {
             return "unsuccessful";
@@ -109,23 +67,23 @@ public class IssueRestController {
     
     @RequestMapping(value="/{id}/return", method = RequestMethod.POST)
     public String returnSelected(@RequestParam Map<String, String> payload, @PathVariable(name = "id") Long id) {
-        Issue issue = issueService.get(id);
-        String[] issuedBookIds = payload.get("ids").split(",");
-        if(issue != null) {
+        String[] issuedBookIds = payload.getOrDefault("ids", "").split(",");
+        if(issueService.exists(id)) {
             
-            List<IssuedBook> issuedBooks = issue.getIssuedBooks();
-            for(int k=0; k<issuedBooks.size(); k++) {
-                IssuedBook ib = issuedBooks.get(k);
-                if(Arrays.asList(issuedBookIds).contains(ib.getId().toString())) {
-                    ib.setReturned(Constants.BOOK_RETURNED);
-                    ib.setReturnedDate(new Date());
-                    issuedBookService.save(ib);
-                    
-                    Book book = ib.getBook();
-                    book.setStatus(Constants.BOOK_STATUS_AVAILABLE);
-                    bookService.save(book);
+            // Blank tokens are skipped, so an empty selection returns nothing rather than failing
+            Set<Long> ids = new HashSet<Long>();
+            try {
+                for(int k=0; k<issuedBookIds.length; k++) {
+                    String issuedBookId = issuedBookIds[k].trim();
+                    if(!issuedBookId.isEmpty()) {
+                        ids.add(Long.parseLong(issuedBookId));
+                    }
                 }
+            } catch (NumberFormatException ex) {
+                logger.warn("Invalid issued book ID in return payload of issue {}: {}", id, payload.get("ids"), ex);
+                return "invalid number format";
             }
+            issuedBookService.returnBooks(id, ids);
             
             return "successful";
         } else {
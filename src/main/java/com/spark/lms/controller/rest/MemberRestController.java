@@ -1,15 +1,18 @@
 package com.spark.lms.controller.rest;
 
-import java.util.List;
-import java.util.stream.Collectors;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import com.spark.lms.model.Member;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.spark.lms.service.MemberService;
 
 @RestController
@@ -19,32 +22,29 @@ public class MemberRestController {
     @Autowired
     private MemberService memberService;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    /**
+     * Stream all members as a JSON array
+     * Rows are read through a forward-only cursor and written one by one,
+     * so memory stays flat regardless of the number of members
+     */
     @GetMapping("/list")
-    public List<Member> getAllMembers() {
-        List<Member> members = memberService.getAll();
-        
-        // Create a new list to avoid modifying the original entities
-        List<Member> detachedMembers = new ArrayList<>();
-        
-        for (Member member : members) {
-            Member detachedMember = new Member();
-            
-            // Copy all properties except user to avoid circular reference
-            detachedMember.setId(member.getId());
-            detachedMember.setType(member.getType());
-            detachedMember.setFirstName(member.getFirstName());
-            detachedMember.setMiddleName(member.getMiddleName());
-            detachedMember.setLastName(member.getLastName());
-            detachedMember.setGender(member.getGender());
-            detachedMember.setDateOfBirth(member.getDateOfBirth());
-            detachedMember.setJoiningDate(member.getJoiningDate());
-            detachedMember.setContact(member.getContact());
-            detachedMember.setEmail(member.getEmail());
-            // Don't set user property to avoid circular reference
-            
-            detachedMembers.add(detachedMember);
-        }
-        
-        return detachedMembers;
+    public ResponseEntity<StreamingResponseBody> getAllMembers() {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                memberService.streamSummaries(member -> {
+                    try {
+                        generator.writeObject(member);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 }
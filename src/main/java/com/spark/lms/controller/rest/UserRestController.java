@@ -1,14 +1,13 @@
 package com.spark.lms.controller.rest;
 
-import java.util.List;
-import java.util.ArrayList;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.spark.lms.model.User;
+import com.spark.lms.dto.CursorPage;
+import com.spark.lms.dto.UserSummary;
 import com.spark.lms.service.UserService;
 
 @RestController
@@ -18,29 +17,13 @@ public class UserRestController {
     @Autowired
     private UserService userService;
     
+    /**
+     * Page through users without loading passwords or member associations
+     * The next page is requested with the returned nextCursor as "after"
+     */
     @GetMapping("/list")
-    public List<User> getAllUsers() {
-        List<User> users = userService.getAllUsers();
-        
-        // Create a new list to avoid modifying the original entities
-        List<User> detachedUsers = new ArrayList<>();
-        
-        for (User user : users) {
-            User detachedUser = new User();
-            
-            // Copy all properties except member to avoid circular reference
-            detachedUser.setId(user.getId());
-            detachedUser.setDisplayName(user.getDisplayName());
-            detachedUser.setUsername(user.getUsername());
-            // Don't copy password for security
-            detachedUser.setRole(user.getRole());
-            detachedUser.setActive(user.isActive());
-            detachedUser.setCreatedDate(user.getCreatedDate());
-            // Don't set member property to avoid circular reference
-            
-            detachedUsers.add(detachedUser);
-        }
-        
-        return detachedUsers;
+    public CursorPage<UserSummary> getAllUsers(@RequestParam(name = "after", required = false) Long after,
+            @RequestParam(name = "size", required = false) Integer size) {
+        return userService.getSummaryPage(after, size);
     }
 }
@@ -0,0 +1,7 @@
+package com.spark.lms.dto;
+
+/**
+ * Total and available copies of a book
+ */
+public record BookCopies(Long bookId, Integer total, Integer available) {
+}
@@ -32,6 +32,8 @@ public class BookDTO {
     @Min(value = 1, message = "*Must have at least 1 copy")
     private Integer numOfCopies;
     
+    private Integer availableCopies;
+    
     @NotNull(message = "*Please select a category")
     private Long categoryId;
     
@@ -107,6 +109,14 @@ public class BookDTO {
         this.numOfCopies = numOfCopies;
     }
 
+    public Integer getAvailableCopies() {
+        return availableCopies;
+    }
+
+    public void setAvailableCopies(Integer availableCopies) {
+        this.availableCopies = availableCopies;
+    }
+
     public Long getCategoryId() {
         return categoryId;
     }
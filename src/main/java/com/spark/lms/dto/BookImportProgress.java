@@ -0,0 +1,12 @@
+package com.spark.lms.dto;
+
+import java.util.List;
+
+/**
+ * Progress of a bulk book import, reported after every chunk and once when done
+ * Only the final report carries the (capped) list of rejected rows, and the reason the
+ * import stopped early (with the line or lines concerned) if it did not run to the end
+ */
+public record BookImportProgress(long rows, long imported, long skipped, long elapsedMs, boolean done,
+        List<String> errors, String failure) {
+}
@@ -0,0 +1,7 @@
+package com.spark.lms.dto;
+
+/**
+ * Compact book entry returned by the type-ahead endpoint
+ */
+public record BookSuggestion(Long id, String title, String tag, String authors, String isbn, Integer status) {
+}
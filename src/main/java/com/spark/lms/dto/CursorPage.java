@@ -0,0 +1,54 @@
+package com.spark.lms.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (seek) paginated listing
+ * The next page is requested with nextCursor as the "after" parameter
+ */
+public class CursorPage<T> {
+    
+    private List<T> items;
+    
+    private Long nextCursor;
+    
+    private int size;
+    
+    public CursorPage() {}
+    
+    public CursorPage(List<T> items, Long nextCursor, int size) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.size = size;
+    }
+    
+    // Getters and Setters
+    
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+    
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+}
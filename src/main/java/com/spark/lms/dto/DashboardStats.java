@@ -0,0 +1,27 @@
+package com.spark.lms.dto;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts shown on the dashboard top tiles
+ * Loaded in one statement by MemberRepository.fetchDashboardStats
+ */
+public record DashboardStats(Long totalMembers, Long totalStudents, Long totalParents,
+        Long totalCategories, Long totalBooks, Long totalCopies, Long totalIssuedBooks) {
+    
+    /**
+     * Tile name to count, as expected by the home page
+     */
+    public Map<String, Long> toMap() {
+        Map<String, Long> map = new HashMap<String, Long>();
+        map.put("totalMembers", totalMembers);
+        map.put("totalStudents", totalStudents);
+        map.put("totalParents", totalParents);
+        map.put("totalCategories", totalCategories);
+        map.put("totalBooks", totalBooks);
+        map.put("totalCopies", totalCopies);
+        map.put("totalIssuedBooks", totalIssuedBooks);
+        return map;
+    }
+}
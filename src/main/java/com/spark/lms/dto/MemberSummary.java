@@ -0,0 +1,30 @@
+package com.spark.lms.dto;
+
+import java.util.Date;
+
+/**
+ * Read-only projection of a member for listings
+ * Selects only member columns, so no User association or entity snapshot is loaded
+ */
+public interface MemberSummary {
+    
+    Long getId();
+    
+    String getType();
+    
+    String getFirstName();
+    
+    String getMiddleName();
+    
+    String getLastName();
+    
+    String getGender();
+    
+    Date getDateOfBirth();
+    
+    Date getJoiningDate();
+    
+    String getContact();
+    
+    String getEmail();
+}
@@ -0,0 +1,22 @@
+package com.spark.lms.dto;
+
+import java.util.Date;
+
+/**
+ * Read-only projection of a user for listings
+ * Leaves out the password hash and the member association
+ */
+public interface UserSummary {
+    
+    Long getId();
+    
+    String getDisplayName();
+    
+    String getUsername();
+    
+    String getRole();
+    
+    boolean isActive();
+    
+    Date getCreatedDate();
+}
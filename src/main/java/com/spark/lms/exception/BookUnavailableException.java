@@ -0,0 +1,26 @@
+package com.spark.lms.exception;
+
+import java.util.Collection;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when books to be issued are no longer available,
+ * typically because another checkout claimed them first.
+ * This will trigger a 409 HTTP response.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class BookUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new book unavailable exception for the requested books.
+     * 
+     * @param bookIds the requested book IDs
+     */
+    public BookUnavailableException(Collection<Long> bookIds) {
+        super(String.format("One or more of the books %s are no longer available", bookIds));
+    }
+}
@@ -117,6 +117,17 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
         return buildResponseEntity(apiError);
     }
 
+    /**
+     * Handle BookUnavailableException, happens when a concurrent checkout claimed the books first
+     */
+    @ExceptionHandler(BookUnavailableException.class)
+    protected ResponseEntity<Object> handleBookUnavailable(BookUnavailableException ex) {
+        ApiError apiError = new ApiError(HttpStatus.CONFLICT);
+        apiError.setMessage(ex.getMessage());
+        logger.warn("Checkout conflict: {}", ex.getMessage());
+        return buildResponseEntity(apiError);
+    }
+
     /**
      * Handle BadRequestException
      */
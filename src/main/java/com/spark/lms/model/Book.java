@@ -3,21 +3,31 @@ package com.spark.lms.model;
 import java.io.Serializable;
 import java.util.Date;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
 import com.fasterxml.jackson.annotation.JsonBackReference;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 
 @Entity
 @Table(name = "book")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Book implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -51,11 +61,16 @@ public class Book implements Serializable {
     @Column(name = "year_of_publication")
     private Integer yearOfPublication;
     
+    @Min(value = 1, message = "*Must have at least 1 copy")
     @Column(name = "num_of_copies")
     private Integer numOfCopies;
     
+    // Copies on the shelf; status is ISSUED only once this reaches zero
+    @Column(name = "available_copies")
+    private Integer availableCopies;
+    
     @JsonBackReference
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
     
@@ -65,6 +80,12 @@ public class Book implements Serializable {
     @Column(name = "status")
     private Integer status;
     
+    // Optimistic lock; also bumped by the bulk copy updates of checkout and return
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+    
     public Book() {}
 
     public Long getId() {
@@ -131,6 +152,14 @@ public class Book implements Serializable {
         this.numOfCopies = numOfCopies;
     }
 
+    public Integer getAvailableCopies() {
+        return availableCopies;
+    }
+
+    public void setAvailableCopies(Integer availableCopies) {
+        this.availableCopies = availableCopies;
+    }
+
     public Category getCategory() {
         return category;
     }
@@ -154,4 +183,12 @@ public class Book implements Serializable {
     public void setStatus(Integer status) {
         this.status = status;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
@@ -13,14 +13,35 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "issue")
+@NamedEntityGraph(name = Issue.GRAPH_LIST,
+        attributeNodes = {
+                @NamedAttributeNode(value = "member", subgraph = "member"),
+                @NamedAttributeNode(value = "issuedBooks", subgraph = "issuedBooks") },
+        subgraphs = {
+                // Member.user is the inverse side of a one-to-one, which Hibernate always resolves
+                // eagerly; joining it here avoids a users SELECT per member
+                @NamedSubgraph(name = "member", attributeNodes = @NamedAttributeNode("user")),
+                @NamedSubgraph(name = "issuedBooks", attributeNodes = @NamedAttributeNode("book")) })
+@NamedEntityGraph(name = Issue.GRAPH_BOOKS,
+        attributeNodes = @NamedAttributeNode(value = "issuedBooks", subgraph = "issuedBooks"),
+        subgraphs = @NamedSubgraph(name = "issuedBooks", attributeNodes = @NamedAttributeNode("book")))
 public class Issue implements Serializable {
 
     private static final long serialVersionUID = 1L;
+    
+    // Member (with its login), issued books and their books, as shown on the issue list
+    public static final String GRAPH_LIST = "Issue.list";
+    
+    // Issued books and their books, as shown on the student's own loans
+    public static final String GRAPH_BOOKS = "Issue.books";
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -39,11 +60,11 @@ public class Issue implements Serializable {
     @Column(name = "type")
     private String type;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "member_id", nullable = false)
     private Member member;
     
-    @OneToMany(mappedBy = "issue", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "issue", cascade = CascadeType.ALL)
     private List<IssuedBook> issuedBooks;
     
     @Column(name = "notes")
@@ -1,15 +1,23 @@
 package com.spark.lms.repository;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.spark.lms.model.Book;
 import com.spark.lms.model.Category;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository for Book entity
  */
@@ -18,10 +26,12 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     
     /**
      * Find a book by its tag
+     * Results are kept in the query cache and invalidated on any book write
      * 
      * @param tag the book tag
      * @return the book
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Book findByTag(String tag);
     
     /**
@@ -41,6 +51,15 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      */
     List<Book> findByCategoryAndStatus(Category category, Integer status);
     
+    /**
+     * Count books by category ID and status
+     * 
+     * @param categoryId the category ID
+     * @param status the status
+     * @return count of books
+     */
+    long countByCategoryIdAndStatus(Long categoryId, Integer status);
+    
     /**
      * Count books by status
      * 
@@ -59,6 +78,19 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      */
     List<Book> findByTitleContainingOrAuthorsContainingOrIsbnContaining(String title, String authors, String isbn);
     
+    /**
+     * Ranked full-text search over title, authors, publisher and ISBN
+     * Matches the generated search_vector column through its GIN index (see schema.sql)
+     * 
+     * @param query a to_tsquery expression
+     * @param limit maximum number of results
+     * @return matching books, best match first
+     */
+    @Query(value = "SELECT b.* FROM book b, to_tsquery('simple', :query) q " +
+            "WHERE b.search_vector @@ q ORDER BY ts_rank(b.search_vector, q) DESC, b.id LIMIT :limit",
+            nativeQuery = true)
+    List<Book> searchFullText(@Param("query") String query, @Param("limit") int limit);
+    
     /**
      * Find recently added books
      * 
@@ -67,4 +99,86 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      */
     @Query(value = "SELECT * FROM book ORDER BY created_date DESC LIMIT :limit", nativeQuery = true)
     List<Book> findRecentlyAdded(@Param("limit") int limit);
+    
+    /**
+     * Find all books with their categories in one statement
+     * Used to build the in-memory search index, whose books outlive the session
+     * 
+     * @return list of all books
+     */
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT b FROM Book b")
+    List<Book> findAllWithCategory();
+    
+    /**
+     * Tags of all books in one statement, without loading the entities
+     * Used by the bulk import to check tag uniqueness in memory
+     * 
+     * @return list of all tags
+     */
+    @Query("SELECT b.tag FROM Book b")
+    List<String> findAllTags();
+    
+    /**
+     * Find the first page of books in ID order, with their categories
+     * 
+     * @param pageable page size (the page number must be 0)
+     * @return list of books
+     */
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT b FROM Book b ORDER BY b.id ASC")
+    List<Book> findFirstPage(Pageable pageable);
+    
+    /**
+     * Find the next page of books after the given ID (keyset pagination)
+     * Seeks on the primary key index instead of counting past an OFFSET
+     * 
+     * @param afterId the last ID of the previous page
+     * @param pageable page size (the page number must be 0)
+     * @return list of books
+     */
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT b FROM Book b WHERE b.id > :afterId ORDER BY b.id ASC")
+    List<Book> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * Take one copy of each of several books off the shelf in a single conditional UPDATE
+     * Only rows with a copy left change, so concurrent checkouts never oversell a title; the status
+     * flips to issued only when the last copy goes. Each checkout holds the row lock just for the
+     * remainder of its (short) transaction instead of serializing on a status flag.
+     * 
+     * @param ids the book IDs
+     * @param available the status of books with copies left
+     * @param issued the status of books with no copy left
+     * @return number of books that had a copy and were decremented
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Book b SET b.availableCopies = b.availableCopies - 1, " +
+            "b.status = CASE WHEN b.availableCopies > 1 THEN :available ELSE :issued END, " +
+            "b.version = b.version + 1 " +
+            "WHERE b.id IN :ids AND b.availableCopies > 0")
+    int checkOutCopies(@Param("ids") Collection<Long> ids, @Param("available") Integer available,
+            @Param("issued") Integer issued);
+    
+    /**
+     * Put one copy of each of several books back on the shelf in a single UPDATE statement
+     * Never raises the available copies above the number of copies
+     * 
+     * @param ids the book IDs
+     * @param available the status of books with copies left
+     * @return number of books that were incremented
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Book b SET b.availableCopies = b.availableCopies + 1, b.status = :available, " +
+            "b.version = b.version + 1 " +
+            "WHERE b.id IN :ids AND b.availableCopies < b.numOfCopies")
+    int returnCopies(@Param("ids") Collection<Long> ids, @Param("available") Integer available);
+    
+    /**
+     * Number of copies currently issued across the catalog
+     * 
+     * @return sum of copies minus available copies
+     */
+    @Query("SELECT COALESCE(SUM(b.numOfCopies - b.availableCopies), 0L) FROM Book b")
+    Long sumIssuedCopies();
 }
@@ -1,8 +1,15 @@
 package com.spark.lms.repository;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.spark.lms.model.Issue;
@@ -10,5 +17,39 @@ import com.spark.lms.model.Member;
 
 @Repository
 public interface IssueRepository extends JpaRepository<Issue, Long> {
+    /**
+     * Issues of a member with their issued books and books, in one statement
+     */
+    @EntityGraph(Issue.GRAPH_BOOKS)
     List<Issue> findByMember(Member member);
+    
+    /**
+     * Issues with at least one issued book in the given returned state
+     * The EXISTS semi-join is served by the partial index on unreturned issued_book rows;
+     * member, issued books and books are fetched in the same statement
+     */
+    @EntityGraph(Issue.GRAPH_LIST)
+    @Query("SELECT i FROM Issue i WHERE EXISTS " +
+            "(SELECT 1 FROM IssuedBook ib WHERE ib.issue = i AND ib.returned = :returned) ORDER BY i.id")
+    List<Issue> findByIssuedBookReturned(@Param("returned") Integer returned);
+    
+    /**
+     * IDs of one page of issues with at least one issued book in the given returned state
+     * Paging on IDs keeps LIMIT/OFFSET in SQL; the graph is then fetched with findListGraphByIdIn
+     */
+    @Query(value = "SELECT i.id FROM Issue i WHERE EXISTS " +
+            "(SELECT 1 FROM IssuedBook ib WHERE ib.issue = i AND ib.returned = :returned) ORDER BY i.id",
+            countQuery = "SELECT COUNT(DISTINCT ib.issue.id) FROM IssuedBook ib WHERE ib.returned = :returned")
+    Page<Long> findIdsByIssuedBookReturned(@Param("returned") Integer returned, Pageable pageable);
+    
+    /**
+     * Issues by ID with member, issued books and books, in one statement
+     */
+    @EntityGraph(Issue.GRAPH_LIST)
+    @Query("SELECT i FROM Issue i WHERE i.id IN :ids ORDER BY i.id")
+    List<Issue> findListGraphByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Modifying
+    @Query("UPDATE Issue i SET i.status = :status WHERE i.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") Integer status);
 }
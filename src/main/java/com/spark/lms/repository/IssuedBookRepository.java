@@ -1,13 +1,22 @@
 package com.spark.lms.repository;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.spark.lms.model.Book;
 import com.spark.lms.model.IssuedBook;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository for IssuedBook entity
  */
@@ -29,4 +38,76 @@ public interface IssuedBookRepository extends JpaRepository<IssuedBook, Long> {
      * @return list of issued books
      */
     List<IssuedBook> findByBook(Book book);
+    
+    /**
+     * Insert one not-returned row per book for an issue in a single statement
+     * Declares issued_book as its only query space so the second-level cache is not flushed
+     * 
+     * @param issueId the issue ID
+     * @param bookIds the issued book IDs
+     * @param returned the initial returned flag
+     * @return number of inserted rows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "issued_book"))
+    @Query(value = "INSERT INTO issued_book (issue_id, book_id, returned) " +
+            "SELECT :issueId, b.id, :returned FROM book b WHERE b.id IN (:bookIds)", nativeQuery = true)
+    int insertForIssue(@Param("issueId") Long issueId, @Param("bookIds") Collection<Long> bookIds,
+            @Param("returned") Integer returned);
+    
+    /**
+     * Lock an issue's rows with the given returned flag and find their book IDs
+     * A concurrent return of the same rows waits here and then no longer matches them.
+     * 
+     * @param issueId the issue ID
+     * @param returned the returned flag
+     * @return list of book IDs
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "issued_book"))
+    @Query(value = "SELECT ib.book_id FROM issued_book ib WHERE ib.issue_id = :issueId AND ib.returned = :returned " +
+            "FOR UPDATE", nativeQuery = true)
+    List<Long> lockBookIdsByIssue(@Param("issueId") Long issueId, @Param("returned") Integer returned);
+    
+    /**
+     * Lock the selected rows of an issue with the given returned flag and find their book IDs
+     * 
+     * @param issueId the issue ID
+     * @param ids the issued book IDs
+     * @param returned the returned flag
+     * @return list of book IDs
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "issued_book"))
+    @Query(value = "SELECT ib.book_id FROM issued_book ib WHERE ib.issue_id = :issueId AND ib.id IN (:ids) " +
+            "AND ib.returned = :returned FOR UPDATE", nativeQuery = true)
+    List<Long> lockBookIdsByIssueAndIds(@Param("issueId") Long issueId, @Param("ids") Collection<Long> ids,
+            @Param("returned") Integer returned);
+    
+    /**
+     * Mark every row of an issue as returned in a single UPDATE statement
+     * 
+     * @param issueId the issue ID
+     * @param returned the returned flag to set
+     * @param returnedDate the return date
+     * @return number of updated rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE IssuedBook ib SET ib.returned = :returned, ib.returnedDate = :returnedDate " +
+            "WHERE ib.issue.id = :issueId AND ib.returned <> :returned")
+    int markReturned(@Param("issueId") Long issueId, @Param("returned") Integer returned,
+            @Param("returnedDate") Date returnedDate);
+    
+    /**
+     * Mark the selected rows of an issue as returned in a single UPDATE statement
+     * 
+     * @param issueId the issue ID
+     * @param ids the issued book IDs
+     * @param returned the returned flag to set
+     * @param returnedDate the return date
+     * @return number of updated rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE IssuedBook ib SET ib.returned = :returned, ib.returnedDate = :returnedDate " +
+            "WHERE ib.issue.id = :issueId AND ib.id IN :ids AND ib.returned <> :returned")
+    int markReturned(@Param("issueId") Long issueId, @Param("ids") Collection<Long> ids,
+            @Param("returned") Integer returned, @Param("returnedDate") Date returnedDate);
 }
@@ -1,11 +1,47 @@
 package com.spark.lms.repository;
 
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
+import com.spark.lms.dto.DashboardStats;
+import com.spark.lms.dto.MemberSummary;
 import com.spark.lms.model.Member;
 
 @Repository
 public interface MemberRepository extends JpaRepository<Member, Long> {
     Long countByType(String type);
+    
+    /**
+     * All dashboard counts in one round trip: filtered aggregates over member
+     * plus scalar subqueries for category and book
+     */
+    @Query("SELECT new com.spark.lms.dto.DashboardStats(" +
+            "COUNT(m), " +
+            "COUNT(m) FILTER (WHERE m.type = :student), " +
+            "COUNT(m) FILTER (WHERE m.type = :parent), " +
+            "(SELECT COUNT(c) FROM Category c), " +
+            "(SELECT COUNT(b) FROM Book b), " +
+            "(SELECT COALESCE(SUM(b.numOfCopies), 0L) FROM Book b), " +
+            "(SELECT COALESCE(SUM(b.numOfCopies - b.availableCopies), 0L) FROM Book b)) " +
+            "FROM Member m")
+    DashboardStats fetchDashboardStats(@Param("student") String student, @Param("parent") String parent);
+    
+    /**
+     * Forward-only stream of member summaries, fetched from the driver in chunks
+     * Must be consumed inside a transaction and closed afterwards
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT m.id AS id, m.type AS type, m.firstName AS firstName, m.middleName AS middleName, " +
+            "m.lastName AS lastName, m.gender AS gender, m.dateOfBirth AS dateOfBirth, " +
+            "m.joiningDate AS joiningDate, m.contact AS contact, m.email AS email " +
+            "FROM Member m ORDER BY m.id")
+    Stream<MemberSummary> streamAllSummaries();
 }
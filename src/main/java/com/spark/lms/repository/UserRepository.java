@@ -1,8 +1,14 @@
 package com.spark.lms.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.spark.lms.dto.UserSummary;
 import com.spark.lms.model.Member;
 import com.spark.lms.model.User;
 
@@ -10,4 +16,25 @@ import com.spark.lms.model.User;
 public interface UserRepository extends JpaRepository<User, Long> {
     User findByUsername(String username);
     User findByMember(Member member);
+    
+    /**
+     * First page of user summaries ordered by ID
+     * 
+     * @param pageable page size (the page number is ignored)
+     * @return list of user summaries
+     */
+    @Query("SELECT u.id AS id, u.displayName AS displayName, u.username AS username, u.role AS role, " +
+            "u.active AS active, u.createdDate AS createdDate FROM User u ORDER BY u.id ASC")
+    List<UserSummary> findSummaryFirstPage(Pageable pageable);
+    
+    /**
+     * Page of user summaries with ID greater than the cursor
+     * 
+     * @param afterId the last ID of the previous page
+     * @param pageable page size (the page number is ignored)
+     * @return list of user summaries
+     */
+    @Query("SELECT u.id AS id, u.displayName AS displayName, u.username AS username, u.role AS role, " +
+            "u.active AS active, u.createdDate AS createdDate FROM User u WHERE u.id > :afterId ORDER BY u.id ASC")
+    List<UserSummary> findSummaryPageAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -0,0 +1,305 @@
+package com.spark.lms.service;
+
+import static com.spark.lms.util.TransactionCallbacks.afterCommit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.spark.lms.common.Constants;
+import com.spark.lms.model.Book;
+
+/**
+ * Per-category bitsets of available book IDs
+ * Answers availability checks, counts and ID lists with bit operations instead of
+ * a status query per category selection. Built from book.status at startup and
+ * updated when the surrounding transaction commits.
+ */
+@Component
+public class AvailabilityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityIndex.class);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Category ID of every indexed book, by book ID (0 = not indexed)
+    private long[] categoryOf = new long[0];
+
+    // Available book IDs per category ID
+    private final Map<Long, Bits> available = new HashMap<>();
+
+    private volatile boolean ready = false;
+
+    /**
+     * Replace the whole index with the given books
+     *
+     * @param books all books in the catalog, with their categories
+     */
+    public void rebuild(Collection<Book> books) {
+        lock.writeLock().lock();
+        try {
+            categoryOf = new long[0];
+            available.clear();
+            for (Book book : books) {
+                add(book);
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Availability index built with {} books", books.size());
+    }
+
+    /**
+     * Add or replace a single book once the surrounding transaction commits
+     *
+     * @param book the book to index
+     */
+    public void put(Book book) {
+        if (book == null || book.getId() == null || book.getCategory() == null) {
+            return;
+        }
+        Long id = book.getId();
+        Long categoryId = book.getCategory().getId();
+        boolean isAvailable = Constants.BOOK_STATUS_AVAILABLE.equals(book.getStatus());
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                unlink(id);
+                link(id, categoryId, isAvailable);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Remove a book once the surrounding transaction commits
+     *
+     * @param id the book ID
+     */
+    public void remove(Long id) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                unlink(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Reflect a bulk status change once the surrounding transaction commits
+     *
+     * @param ids the book IDs
+     * @param status the new status
+     */
+    public void updateStatus(Collection<Long> ids, Integer status) {
+        List<Long> bookIds = new ArrayList<>(ids);
+        afterCommit(() -> setStatus(bookIds, status));
+    }
+
+    /**
+     * Reflect a status change immediately
+     * For callers that already run after commit, where a new synchronization would never fire
+     *
+     * @param ids the book IDs
+     * @param status the new status
+     */
+    public void setStatus(Collection<Long> ids, Integer status) {
+        boolean isAvailable = Constants.BOOK_STATUS_AVAILABLE.equals(status);
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                long categoryId = categoryOf(id);
+                if (categoryId != 0) {
+                    bits(categoryId).set(index(id), isAvailable);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Whether the index has been built and can answer queries
+     *
+     * @return true once rebuild has completed
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Whether a book is currently available
+     *
+     * @param id the book ID
+     * @return true if the book is indexed and available
+     */
+    public boolean isAvailable(Long id) {
+        lock.readLock().lock();
+        try {
+            long categoryId = categoryOf(id);
+            return categoryId != 0 && available.get(categoryId).get(index(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether a book belongs to a category
+     *
+     * @param id the book ID
+     * @param categoryId the category ID
+     * @return true if the book is indexed under the category
+     */
+    public boolean isInCategory(Long id, Long categoryId) {
+        lock.readLock().lock();
+        try {
+            return categoryOf(id) == categoryId;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether a book belongs to a category and is currently available
+     *
+     * @param id the book ID
+     * @param categoryId the category ID
+     * @return true if the book is indexed under the category and available
+     */
+    public boolean isAvailableIn(Long id, Long categoryId) {
+        lock.readLock().lock();
+        try {
+            return categoryOf(id) == categoryId && available.get(categoryId).get(index(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of available books in a category
+     *
+     * @param categoryId the category ID
+     * @return count of available books
+     */
+    public int countAvailable(Long categoryId) {
+        lock.readLock().lock();
+        try {
+            Bits bits = available.get(categoryId);
+            return bits == null ? 0 : bits.count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * IDs of the available books in a category
+     *
+     * @param categoryId the category ID
+     * @return available book IDs in ascending order
+     */
+    public List<Long> availableIds(Long categoryId) {
+        lock.readLock().lock();
+        try {
+            Bits bits = available.get(categoryId);
+            return bits == null ? Collections.emptyList() : bits.ids();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Book book) {
+        if (book.getId() != null && book.getCategory() != null) {
+            link(book.getId(), book.getCategory().getId(),
+                    Constants.BOOK_STATUS_AVAILABLE.equals(book.getStatus()));
+        }
+    }
+
+    private void link(Long id, Long categoryId, boolean isAvailable) {
+        int index = index(id);
+        if (index >= categoryOf.length) {
+            categoryOf = Arrays.copyOf(categoryOf, Math.max(index + 1, categoryOf.length * 2));
+        }
+        categoryOf[index] = categoryId;
+        bits(categoryId).set(index, isAvailable);
+    }
+
+    private void unlink(Long id) {
+        long categoryId = categoryOf(id);
+        if (categoryId != 0) {
+            available.get(categoryId).set(index(id), false);
+            categoryOf[index(id)] = 0;
+        }
+    }
+
+    private long categoryOf(Long id) {
+        int index = index(id);
+        return index < categoryOf.length ? categoryOf[index] : 0;
+    }
+
+    private Bits bits(long categoryId) {
+        return available.computeIfAbsent(categoryId, c -> new Bits());
+    }
+
+    private static int index(Long id) {
+        return Math.toIntExact(id);
+    }
+
+    /**
+     * Growable bitset that keeps its cardinality
+     */
+    private static class Bits {
+
+        private long[] words = new long[0];
+        private int count;
+
+        boolean get(int index) {
+            int word = index >>> 6;
+            return word < words.length && (words[word] & (1L << index)) != 0;
+        }
+
+        void set(int index, boolean value) {
+            int word = index >>> 6;
+            if (word >= words.length) {
+                if (!value) {
+                    return;
+                }
+                words = Arrays.copyOf(words, Math.max(word + 1, words.length * 2));
+            }
+            long mask = 1L << index;
+            boolean current = (words[word] & mask) != 0;
+            if (value && !current) {
+                words[word] |= mask;
+                count++;
+            } else if (!value && current) {
+                words[word] &= ~mask;
+                count--;
+            }
+        }
+
+        List<Long> ids() {
+            List<Long> ids = new ArrayList<>(count);
+            for (int word = 0; word < words.length; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    ids.add(((long) word << 6) + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+            return ids;
+        }
+    }
+}
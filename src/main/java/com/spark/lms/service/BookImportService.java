@@ -0,0 +1,287 @@
+package com.spark.lms.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.spark.lms.common.Constants;
+import com.spark.lms.dto.BookImportProgress;
+import com.spark.lms.exception.BadRequestException;
+import com.spark.lms.model.Category;
+import com.spark.lms.repository.BookRepository;
+import com.spark.lms.repository.CategoryRepository;
+import com.spark.lms.util.CsvReader;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Bulk import of books from CSV
+ * The input is parsed one chunk of rows at a time; tags and categories are validated against
+ * in-memory lookups loaded with one query each, and every chunk is written with a single JDBC
+ * batch in its own transaction (rewritten into multi-row INSERTs by the PostgreSQL driver when
+ * reWriteBatchedInserts is set). The in-memory indexes are rebuilt once at the end.
+ */
+@Service
+public class BookImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookImportService.class);
+
+    // Required columns; the header may list them in any order, with optional extra columns
+    public static final String COLUMN_TAG = "tag";
+    public static final String COLUMN_TITLE = "title";
+    public static final String COLUMN_AUTHORS = "authors";
+    public static final String COLUMN_CATEGORY = "category";
+
+    // Optional columns
+    public static final String COLUMN_PUBLISHER = "publisher";
+    public static final String COLUMN_ISBN = "isbn";
+    public static final String COLUMN_YEAR = "year_of_publication";
+    public static final String COLUMN_COPIES = "num_of_copies";
+
+    // Rejected rows reported back to the caller; the rest are only counted
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final String INSERT_BOOK = "INSERT INTO book (tag, title, authors, publisher, isbn, " +
+            "year_of_publication, num_of_copies, available_copies, category_id, created_date, status, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private DashboardStatsCache dashboardStatsCache;
+
+    // Rows per JDBC batch and transaction
+    @Value("${libtrack.import.chunk-size:5000}")
+    private int chunkSize;
+
+    /**
+     * Import books from CSV with a header row
+     * Rows with missing fields, unknown categories or tags that already exist (in the
+     * catalog or earlier in the file) are skipped and reported; the others are imported.
+     * If reading or writing fails part way, the chunks already committed are kept and the
+     * final report says where the import stopped.
+     *
+     * @param input the CSV input, read forward only
+     * @param progress receives a report after every chunk
+     * @return the final report
+     * @throws IOException if reading the header fails
+     * @throws BadRequestException if the header lacks a required column
+     */
+    public BookImportProgress importCsv(Reader input, Consumer<BookImportProgress> progress) throws IOException {
+        long start = System.nanoTime();
+        CsvReader csv = new CsvReader(input);
+        Map<String, Integer> columns = readHeader(csv.next());
+
+        Set<String> tags = new HashSet<>(bookRepository.findAllTags());
+        Map<String, Long> categories = loadCategories();
+        logger.info("Importing books; {} existing tags and {} categories loaded", tags.size(), categories.size());
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<String> errors = new ArrayList<>();
+        List<Object[]> chunk = new ArrayList<>(chunkSize);
+        long rows = 0;
+        long imported = 0;
+        long skipped = 0;
+        long chunkStartLine = 0;
+        String failure = null;
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        try {
+            List<String> record;
+            while ((record = csv.next()) != null) {
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                rows++;
+                if (chunk.isEmpty()) {
+                    chunkStartLine = csv.getRecordLine();
+                }
+                String error = toRow(record, columns, tags, categories, now, chunk);
+                if (error != null) {
+                    skipped++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add("Line " + csv.getRecordLine() + ": " + error);
+                    }
+                }
+                if (chunk.size() == chunkSize) {
+                    imported += insert(transaction, chunk);
+                    progress.accept(new BookImportProgress(rows, imported, skipped, elapsedMs(start), false, null,
+                            null));
+                }
+            }
+            if (!chunk.isEmpty()) {
+                imported += insert(transaction, chunk);
+            }
+        } catch (IOException | RuntimeException ex) {
+            // Earlier chunks are committed; report where the import stopped instead of failing the whole call
+            failure = chunk.isEmpty()
+                    ? "Line " + csv.getRecordLine() + ": " + ex.getMessage()
+                    : "Lines " + chunkStartLine + "-" + csv.getRecordLine() + " not imported: " + ex.getMessage();
+            logger.error("Book import stopped after {} imported rows: {}", imported, failure, ex);
+        } finally {
+            if (imported > 0) {
+                refreshCaches();
+            }
+        }
+
+        BookImportProgress result = new BookImportProgress(rows, imported, skipped, elapsedMs(start), true, errors,
+                failure);
+        logger.info("Imported {} books of {} rows in {} ms, {} skipped", imported, rows, result.elapsedMs(), skipped);
+        progress.accept(result);
+        return result;
+    }
+
+    /**
+     * Column name to index; every required column must be present
+     */
+    private static Map<String, Integer> readHeader(List<String> header) {
+        if (header == null) {
+            throw new BadRequestException("The import file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int k = 0; k < header.size(); k++) {
+            columns.put(header.get(k).trim().toLowerCase(Locale.ROOT), k);
+        }
+        for (String required : new String[] { COLUMN_TAG, COLUMN_TITLE, COLUMN_AUTHORS, COLUMN_CATEGORY }) {
+            if (!columns.containsKey(required)) {
+                throw new BadRequestException("The import file has no '" + required + "' column");
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Category ID by ID, name and short name (case-insensitive)
+     */
+    private Map<String, Long> loadCategories() {
+        Map<String, Long> categories = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            categories.put(String.valueOf(category.getId()), category.getId());
+            if (category.getShortName() != null) {
+                categories.putIfAbsent(category.getShortName().trim().toLowerCase(Locale.ROOT), category.getId());
+            }
+            if (category.getName() != null) {
+                categories.put(category.getName().trim().toLowerCase(Locale.ROOT), category.getId());
+            }
+        }
+        return categories;
+    }
+
+    /**
+     * Validate a record and append its insert parameters to the chunk
+     *
+     * @return the reason the record was rejected, or null if it was added
+     */
+    private static String toRow(List<String> record, Map<String, Integer> columns, Set<String> tags,
+            Map<String, Long> categories, Timestamp createdDate, List<Object[]> chunk) {
+        String tag = field(record, columns, COLUMN_TAG);
+        String title = field(record, columns, COLUMN_TITLE);
+        String authors = field(record, columns, COLUMN_AUTHORS);
+        String category = field(record, columns, COLUMN_CATEGORY);
+        if (tag == null || title == null || authors == null || category == null) {
+            return "tag, title, authors and category are required";
+        }
+        Long categoryId = categories.get(category.toLowerCase(Locale.ROOT));
+        if (categoryId == null) {
+            return "unknown category '" + category + "'";
+        }
+
+        Integer year;
+        int copies;
+        try {
+            String value = field(record, columns, COLUMN_YEAR);
+            year = value == null ? null : Integer.valueOf(value);
+            value = field(record, columns, COLUMN_COPIES);
+            copies = value == null ? 1 : Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            return "year_of_publication and num_of_copies must be whole numbers";
+        }
+        if (copies < 1) {
+            return "num_of_copies must be at least 1";
+        }
+        // Checked last, so a rejected row does not claim its tag
+        if (!tags.add(tag)) {
+            return "tag '" + tag + "' already exists";
+        }
+
+        chunk.add(new Object[] { tag, title, authors, field(record, columns, COLUMN_PUBLISHER),
+                field(record, columns, COLUMN_ISBN), year, copies, copies, categoryId,
+                createdDate, Constants.BOOK_STATUS_AVAILABLE });
+        return null;
+    }
+
+    /**
+     * Trimmed value of a column, or null when the column is absent or blank
+     */
+    private static String field(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Write a chunk with one JDBC batch in its own transaction, then clear it
+     */
+    private int insert(TransactionTemplate transaction, List<Object[]> chunk) {
+        int[] counts = transaction.execute(status -> jdbcTemplate.batchUpdate(INSERT_BOOK, chunk));
+        chunk.clear();
+        int inserted = 0;
+        for (int count : counts) {
+            // The driver may report SUCCESS_NO_INFO (-2) for rewritten multi-row inserts
+            inserted += count == 0 ? 0 : 1;
+        }
+        return inserted;
+    }
+
+    /**
+     * The rows bypassed Hibernate: drop its cached entities and queries (a cached
+     * findByTag miss would hide an imported book), then rebuild the in-memory state
+     */
+    private void refreshCaches() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        bookService.buildSearchIndex();
+        dashboardStatsCache.reconcile();
+    }
+
+    private static long elapsedMs(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,417 @@
+package com.spark.lms.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.spark.lms.model.Book;
+import com.spark.lms.model.Category;
+
+/**
+ * In-memory inverted index over the book catalog
+ * Serves BookService.search without issuing LIKE scans against the book table.
+ * Entries are immutable snapshots of the indexed books, never the entities themselves;
+ * every search returns fresh detached copies, so callers cannot change the index and
+ * status updates from other threads never touch an object someone else is reading.
+ */
+@Component
+public class BookSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookSearchIndex.class);
+
+    // Length of the n-grams used for partial (substring) matches
+    private static final int NGRAM_SIZE = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Indexed books by ID
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    // Whole-word tokens of title and authors
+    private final Map<String, Set<Long>> tokens = new HashMap<>();
+
+    // N-grams of title, authors and ISBN
+    private final Map<String, Set<Long>> ngrams = new HashMap<>();
+
+    // Normalized ISBN to book ID
+    private final Map<String, Long> isbns = new HashMap<>();
+
+    private volatile boolean ready = false;
+
+    /**
+     * Replace the whole index with the given books
+     *
+     * @param books all books in the catalog
+     */
+    public void rebuild(Collection<Book> books) {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            tokens.clear();
+            ngrams.clear();
+            isbns.clear();
+            for (Book book : books) {
+                add(book);
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Book search index built with {} books", books.size());
+    }
+
+    /**
+     * Add or replace a single book in the index
+     *
+     * @param book the book to index
+     */
+    public void index(Book book) {
+        if (book == null || book.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            unlink(book.getId());
+            add(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a book from the index
+     *
+     * @param id the book ID
+     */
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            unlink(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reflect a bulk status change on the indexed books
+     *
+     * @param ids the book IDs
+     * @param status the new status
+     */
+    public void updateStatus(Collection<Long> ids, Integer status) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                Entry entry = entries.get(id);
+                if (entry != null) {
+                    entries.put(id, entry.withStatus(status));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reflect the bulk copy updates of checkout and return on the indexed books
+     * Each of those updates also bumped the book's version by one.
+     *
+     * @param copies the new available copies by book ID
+     */
+    public void updateCopies(Map<Long, Integer> copies) {
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<Long, Integer> change : copies.entrySet()) {
+                Entry entry = entries.get(change.getKey());
+                if (entry != null) {
+                    entries.put(change.getKey(), entry.withCopies(change.getValue()));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Whether the index has been built and can answer searches
+     *
+     * @return true once rebuild has completed
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Search books whose title, authors or ISBN contain the keyword (case-insensitive)
+     *
+     * @param keyword the search keyword
+     * @return copies of the matching books ordered by ID
+     */
+    public List<Book> search(String keyword) {
+        String query = normalize(keyword);
+        if (query.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<Long> matches = new HashSet<>();
+
+            Long isbnMatch = isbns.get(normalizeIsbn(query));
+            if (isbnMatch != null) {
+                matches.add(isbnMatch);
+            }
+
+            Set<Long> tokenMatches = tokens.get(query);
+            if (tokenMatches != null) {
+                matches.addAll(tokenMatches);
+            }
+
+            // Candidates from the n-gram postings, verified against the full text
+            for (Long id : candidates(query)) {
+                if (!matches.contains(id) && entries.get(id).contains(query)) {
+                    matches.add(id);
+                }
+            }
+
+            List<Long> ids = new ArrayList<>(matches);
+            Collections.sort(ids);
+            List<Book> result = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                result.add(entries.get(id).toBook());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Intersect the postings of every n-gram in the query, smallest first
+     */
+    private Collection<Long> candidates(String query) {
+        if (query.length() < NGRAM_SIZE) {
+            return entries.keySet();
+        }
+
+        List<Set<Long>> postings = new ArrayList<>();
+        for (String gram : ngramsOf(query)) {
+            Set<Long> ids = ngrams.get(gram);
+            if (ids == null) {
+                return Collections.emptySet();
+            }
+            postings.add(ids);
+        }
+        postings.sort((a, b) -> Integer.compare(a.size(), b.size()));
+
+        Set<Long> result = new HashSet<>(postings.get(0));
+        for (int k = 1; k < postings.size() && !result.isEmpty(); k++) {
+            result.retainAll(postings.get(k));
+        }
+        return result;
+    }
+
+    private void add(Book book) {
+        Entry entry = new Entry(book);
+        entries.put(book.getId(), entry);
+        for (String token : entry.tokens()) {
+            tokens.computeIfAbsent(token, t -> new HashSet<>()).add(book.getId());
+        }
+        for (String gram : entry.ngrams()) {
+            ngrams.computeIfAbsent(gram, g -> new HashSet<>()).add(book.getId());
+        }
+        if (!entry.isbnKey.isEmpty()) {
+            isbns.put(entry.isbnKey, book.getId());
+        }
+    }
+
+    private void unlink(Long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (String token : entry.tokens()) {
+            removePosting(tokens, token, id);
+        }
+        for (String gram : entry.ngrams()) {
+            removePosting(ngrams, gram, id);
+        }
+        if (!entry.isbnKey.isEmpty()) {
+            isbns.remove(entry.isbnKey, id);
+        }
+    }
+
+    private static void removePosting(Map<String, Set<Long>> postings, String key, Long id) {
+        Set<Long> ids = postings.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase();
+    }
+
+    private static String normalizeIsbn(String value) {
+        return value.replaceAll("[\\s-]", "");
+    }
+
+    private static Set<String> ngramsOf(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int k = 0; k + NGRAM_SIZE <= value.length(); k++) {
+            grams.add(value.substring(k, k + NGRAM_SIZE));
+        }
+        return grams;
+    }
+
+    /**
+     * Indexed view of a single book: the normalized search fields plus an immutable
+     * snapshot of the book as it was indexed (copies, version and status aside, which are replaced on change)
+     */
+    private static class Entry {
+
+        private final String title;
+        private final String authors;
+        private final String isbn;
+        private final String isbnKey;
+
+        private final Long id;
+        private final String bookTitle;
+        private final String tag;
+        private final String bookAuthors;
+        private final String publisher;
+        private final String bookIsbn;
+        private final Integer yearOfPublication;
+        private final Integer numOfCopies;
+        private final Integer availableCopies;
+        private final Long createdDate;
+        private final Integer status;
+        private final long version;
+        private final Long categoryId;
+        private final String categoryName;
+        private final String categoryShortName;
+
+        Entry(Book book) {
+            this.title = normalize(book.getTitle());
+            this.authors = normalize(book.getAuthors());
+            this.isbn = normalize(book.getIsbn());
+            this.isbnKey = normalizeIsbn(isbn);
+
+            this.id = book.getId();
+            this.bookTitle = book.getTitle();
+            this.tag = book.getTag();
+            this.bookAuthors = book.getAuthors();
+            this.publisher = book.getPublisher();
+            this.bookIsbn = book.getIsbn();
+            this.yearOfPublication = book.getYearOfPublication();
+            this.numOfCopies = book.getNumOfCopies();
+            this.availableCopies = book.getAvailableCopies();
+            this.createdDate = book.getCreatedDate() == null ? null : book.getCreatedDate().getTime();
+            this.status = book.getStatus();
+            this.version = book.getVersion();
+
+            // Only the ID of a category proxy that was never loaded, so indexing cannot trigger lazy loading
+            Category category = book.getCategory();
+            boolean loaded = category != null && Hibernate.isInitialized(category);
+            this.categoryId = category == null ? null : category.getId();
+            this.categoryName = loaded ? category.getName() : null;
+            this.categoryShortName = loaded ? category.getShortName() : null;
+        }
+
+        private Entry(Entry entry, Integer availableCopies, Integer status, long version) {
+            this.title = entry.title;
+            this.authors = entry.authors;
+            this.isbn = entry.isbn;
+            this.isbnKey = entry.isbnKey;
+            this.id = entry.id;
+            this.bookTitle = entry.bookTitle;
+            this.tag = entry.tag;
+            this.bookAuthors = entry.bookAuthors;
+            this.publisher = entry.publisher;
+            this.bookIsbn = entry.bookIsbn;
+            this.yearOfPublication = entry.yearOfPublication;
+            this.numOfCopies = entry.numOfCopies;
+            this.availableCopies = availableCopies;
+            this.createdDate = entry.createdDate;
+            this.status = status;
+            this.version = version;
+            this.categoryId = entry.categoryId;
+            this.categoryName = entry.categoryName;
+            this.categoryShortName = entry.categoryShortName;
+        }
+
+        Entry withStatus(Integer status) {
+            return new Entry(this, availableCopies, status, version);
+        }
+
+        Entry withCopies(Integer availableCopies) {
+            return new Entry(this, availableCopies, status, version + 1);
+        }
+
+        /**
+         * A new detached Book (and Category) built from the snapshot
+         */
+        Book toBook() {
+            Book book = new Book();
+            book.setId(id);
+            book.setTitle(bookTitle);
+            book.setTag(tag);
+            book.setAuthors(bookAuthors);
+            book.setPublisher(publisher);
+            book.setIsbn(bookIsbn);
+            book.setYearOfPublication(yearOfPublication);
+            book.setNumOfCopies(numOfCopies);
+            book.setAvailableCopies(availableCopies);
+            book.setCreatedDate(createdDate == null ? null : new Date(createdDate));
+            book.setStatus(status);
+            book.setVersion(version);
+            if (categoryId != null) {
+                Category category = new Category();
+                category.setId(categoryId);
+                category.setName(categoryName);
+                category.setShortName(categoryShortName);
+                book.setCategory(category);
+            }
+            return book;
+        }
+
+        boolean contains(String query) {
+            return title.contains(query) || authors.contains(query) || isbn.contains(query);
+        }
+
+        Set<String> tokens() {
+            Set<String> result = new HashSet<>();
+            for (String field : new String[] { title, authors }) {
+                for (String token : field.split("[^\\p{L}\\p{N}]+")) {
+                    if (!token.isEmpty()) {
+                        result.add(token);
+                    }
+                }
+            }
+            return result;
+        }
+
+        Set<String> ngrams() {
+            Set<String> result = ngramsOf(title);
+            result.addAll(ngramsOf(authors));
+            result.addAll(ngramsOf(isbn));
+            return result;
+        }
+    }
+}
@@ -1,15 +1,26 @@
 package com.spark.lms.service;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.spark.lms.common.Constants;
+import com.spark.lms.dto.BookCopies;
+import com.spark.lms.dto.BookSuggestion;
+import com.spark.lms.dto.CursorPage;
+import com.spark.lms.exception.BookUnavailableException;
 import com.spark.lms.exception.ResourceNotFoundException;
 import com.spark.lms.model.Book;
 import com.spark.lms.model.Category;
@@ -31,22 +42,77 @@ public class BookService {
     @Autowired
     private IssuedBookRepository issuedBookRepository;
     
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
+    
+    @Autowired
+    private BookSuggestionTrie bookSuggestionTrie;
+    
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+    
+    @Autowired
+    private CopyCounter copyCounter;
+    
+    @Autowired
+    private DashboardStatsCache dashboardStatsCache;
+    
+    /**
+     * Build the in-memory search index, suggestion trie, availability index and copy counters once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildSearchIndex() {
+        logger.info("Building book search index");
+        List<Book> books = bookRepository.findAllWithCategory();
+        bookSearchIndex.rebuild(books);
+        bookSuggestionTrie.rebuild(books);
+        availabilityIndex.rebuild(books);
+        copyCounter.rebuild(books);
+    }
+    
     /**
      * Get all books
      * 
      * @return list of all books
      */
+    @Transactional(readOnly = true)
     public List<Book> getAll() {
         logger.debug("Fetching all books");
         return bookRepository.findAll();
     }
     
+    /**
+     * Get one page of books in ID order using keyset pagination
+     * 
+     * @param afterId ID of the last book of the previous page, or null for the first page
+     * @param size requested page size, clamped to Constants.MAX_PAGE_SIZE
+     * @return the page with the cursor for the next one
+     */
+    public CursorPage<Book> getPage(Long afterId, Integer size) {
+        int pageSize = (size == null || size < 1) ? Constants.DEFAULT_PAGE_SIZE : Math.min(size, Constants.MAX_PAGE_SIZE);
+        logger.debug("Fetching books page after ID: {} (size: {})", afterId, pageSize);
+        
+        // Fetch one extra row to know whether there is a next page
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<Book> books = afterId == null
+                ? bookRepository.findFirstPage(limit)
+                : bookRepository.findPageAfter(afterId, limit);
+        
+        Long nextCursor = null;
+        if (books.size() > pageSize) {
+            books = new ArrayList<>(books.subList(0, pageSize));
+            nextCursor = books.get(pageSize - 1).getId();
+        }
+        return new CursorPage<>(books, nextCursor, pageSize);
+    }
+    
     /**
      * Get all books by category
      * 
      * @param category the category to filter by
      * @return list of books in the category
      */
+    @Transactional(readOnly = true)
     public List<Book> getByCategory(Category category) {
         logger.debug("Fetching books by category: {}", category.getName());
         return bookRepository.findByCategory(category);
@@ -54,15 +120,52 @@ public class BookService {
     
     /**
      * Get available books by category
+     * The IDs come from the availability index; books are then loaded by primary key
      * 
      * @param category the category to filter by
      * @return list of available books in the category
      */
     public List<Book> geAvailabletByCategory(Category category) {
         logger.debug("Fetching available books by category: {}", category.getName());
+        if (availabilityIndex.isReady()) {
+            List<Long> ids = availabilityIndex.availableIds(category.getId());
+            return ids.isEmpty() ? new ArrayList<>() : bookRepository.findAllById(ids);
+        }
         return bookRepository.findByCategoryAndStatus(category, Constants.BOOK_STATUS_AVAILABLE);
     }
     
+    /**
+     * Count available books in a category
+     * 
+     * @param categoryId the category ID
+     * @return number of available books
+     */
+    public long countAvailableByCategory(Long categoryId) {
+        if (availabilityIndex.isReady()) {
+            return availabilityIndex.countAvailable(categoryId);
+        }
+        return bookRepository.countByCategoryIdAndStatus(categoryId, Constants.BOOK_STATUS_AVAILABLE);
+    }
+    
+    /**
+     * Available and total copies of a book
+     * Served from the copy counters, falling back to the book row until they are built
+     * 
+     * @param id the book ID
+     * @return the copy counts
+     * @throws ResourceNotFoundException if book not found
+     */
+    public BookCopies getCopies(Long id) {
+        if (copyCounter.isReady()) {
+            int available = copyCounter.available(id);
+            if (available >= 0) {
+                return new BookCopies(id, copyCounter.total(id), available);
+            }
+        }
+        Book book = get(id);
+        return new BookCopies(id, book.getNumOfCopies(), book.getAvailableCopies());
+    }
+    
     /**
      * Get a book by ID
      * 
@@ -98,13 +201,66 @@ public class BookService {
      */
     public List<Book> get(List<Long> ids) {
         logger.debug("Fetching books by IDs: {}", ids);
-        List<Book> books = new ArrayList<>();
-        for(Long id : ids) {
-            books.add(get(id));
+        List<Book> books = bookRepository.findAllById(ids);
+        if (books.size() < new HashSet<>(ids).size()) {
+            Set<Long> missing = new HashSet<>(ids);
+            for (Book book : books) {
+                missing.remove(book.getId());
+            }
+            logger.error("Books not found with IDs: {}", missing);
+            throw new ResourceNotFoundException("Book", "id", missing);
         }
         return books;
     }
     
+    /**
+     * Take one copy of each book off the shelf for a checkout with one conditional update
+     * Must be called inside a transaction; throws (and so rolls it back) unless every book had a copy left
+     * 
+     * @param ids the book IDs
+     * @throws ResourceNotFoundException if any of the books does not exist
+     * @throws BookUnavailableException if any of the books has no copy left
+     */
+    public void claimForCheckout(Collection<Long> ids) {
+        Set<Long> bookIds = new HashSet<>(ids);
+        int claimed = bookRepository.checkOutCopies(bookIds, Constants.BOOK_STATUS_AVAILABLE,
+                Constants.BOOK_STATUS_ISSUED);
+        if (claimed != bookIds.size()) {
+            // Only on conflict: tell missing books apart from ones with every copy issued
+            get(new ArrayList<>(bookIds));
+            logger.warn("Checkout conflict, claimed {} of books: {}", claimed, bookIds);
+            throw new BookUnavailableException(bookIds);
+        }
+        copiesChanged(bookIds, -1);
+        dashboardStatsCache.issuedBooksChanged(claimed);
+    }
+    
+    /**
+     * Put one copy of each book back on the shelf with one bulk update
+     * Must be called inside a transaction
+     * 
+     * @param ids the book IDs
+     */
+    public void returnCopies(Collection<Long> ids) {
+        logger.info("Returning copies of books: {}", ids);
+        int returned = bookRepository.returnCopies(ids, Constants.BOOK_STATUS_AVAILABLE);
+        copiesChanged(ids, 1);
+        dashboardStatsCache.issuedBooksChanged(-returned);
+    }
+    
+    /**
+     * Apply a copy delta to the counters after commit, the new counts to the search index,
+     * and the status of books that ran out or got their first copy back to the other in-memory indexes
+     */
+    private void copiesChanged(Collection<Long> ids, int delta) {
+        Integer status = delta > 0 ? Constants.BOOK_STATUS_AVAILABLE : Constants.BOOK_STATUS_ISSUED;
+        copyCounter.adjust(ids, delta, bookSearchIndex::updateCopies, flipped -> {
+            bookSearchIndex.updateStatus(flipped, status);
+            bookSuggestionTrie.updateStatus(flipped, status);
+            availabilityIndex.setStatus(flipped, status);
+        });
+    }
+    
     /**
      * Save a book
      * 
@@ -112,14 +268,29 @@ public class BookService {
      * @return the saved book
      */
     public Book save(Book book) {
-        if (book.getId() == null) {
+        boolean isNew = book.getId() == null;
+        int copyDelta;
+        if (isNew) {
             book.setCreatedDate(new Date());
-            book.setStatus(Constants.BOOK_STATUS_AVAILABLE);
+            copyDelta = setCopies(book, 0);
             logger.info("Creating new book: {}", book.getTitle());
         } else {
+            // Issued copies stay issued; only the shelf count follows a change in the number of copies
+            Book current = get(book.getId());
+            copyDelta = setCopies(book, issuedOf(current)) - copiesOf(current);
             logger.info("Updating book: {}", book.getTitle());
         }
-        return bookRepository.save(book);
+        Book saved = bookRepository.save(book);
+        bookSearchIndex.index(saved);
+        bookSuggestionTrie.index(saved);
+        availabilityIndex.put(saved);
+        copyCounter.put(saved);
+        if (isNew) {
+            dashboardStatsCache.bookAdded(saved.getNumOfCopies());
+        } else {
+            dashboardStatsCache.copiesAdded(copyDelta);
+        }
+        return saved;
     }
     
     /**
@@ -130,9 +301,40 @@ public class BookService {
      */
     public Book addNew(Book book) {
         book.setCreatedDate(new Date());
-        book.setStatus(Constants.BOOK_STATUS_AVAILABLE);
+        setCopies(book, 0);
         logger.info("Adding new book: {}", book.getTitle());
-        return bookRepository.save(book);
+        boolean isNew = book.getId() == null;
+        Book saved = bookRepository.save(book);
+        bookSearchIndex.index(saved);
+        bookSuggestionTrie.index(saved);
+        availabilityIndex.put(saved);
+        copyCounter.put(saved);
+        if (isNew) {
+            dashboardStatsCache.bookAdded(saved.getNumOfCopies());
+        }
+        return saved;
+    }
+    
+    /**
+     * Set the number of copies (at least one), the copies on the shelf and the matching status
+     * 
+     * @return the number of copies
+     */
+    private static int setCopies(Book book, int issued) {
+        int copies = copiesOf(book);
+        int available = Math.max(copies - issued, 0);
+        book.setNumOfCopies(copies);
+        book.setAvailableCopies(available);
+        book.setStatus(available > 0 ? Constants.BOOK_STATUS_AVAILABLE : Constants.BOOK_STATUS_ISSUED);
+        return copies;
+    }
+    
+    private static int copiesOf(Book book) {
+        return book.getNumOfCopies() == null || book.getNumOfCopies() < 1 ? 1 : book.getNumOfCopies();
+    }
+    
+    private static int issuedOf(Book book) {
+        return book.getAvailableCopies() == null ? 0 : Math.max(copiesOf(book) - book.getAvailableCopies(), 0);
     }
     
     /**
@@ -144,6 +346,11 @@ public class BookService {
         Book book = get(id);
         logger.info("Deleting book: {} (ID: {})", book.getTitle(), id);
         bookRepository.deleteById(id);
+        bookSearchIndex.remove(id);
+        bookSuggestionTrie.remove(id);
+        availabilityIndex.remove(id);
+        copyCounter.remove(id);
+        dashboardStatsCache.bookRemoved(copiesOf(book), issuedOf(book));
     }
     
     /**
@@ -160,13 +367,79 @@ public class BookService {
     
     /**
      * Search for books by title, author, or ISBN
+     * Served from the in-memory index, falling back to the database full-text search until it is built
      * 
      * @param keyword the search keyword
      * @return list of matching books
      */
+    @Transactional(readOnly = true)
     public List<Book> search(String keyword) {
         logger.debug("Searching books with keyword: {}", keyword);
-        return bookRepository.findByTitleContainingOrAuthorsContainingOrIsbnContaining(keyword, keyword, keyword);
+        if (bookSearchIndex.isReady()) {
+            return bookSearchIndex.search(keyword);
+        }
+        return search(keyword, Constants.MAX_PAGE_SIZE);
+    }
+    
+    /**
+     * Type-ahead suggestions for a title word, tag or ISBN prefix
+     * Served from the in-memory trie only, never from the database; a category is
+     * checked against the availability index while the trie is walked
+     * 
+     * @param prefix the typed prefix
+     * @param limit maximum number of suggestions, or null for the default
+     * @param availableOnly only books with a copy on the shelf, as on the issue form
+     * @param categoryId only books of this category, or null for any
+     * @return list of compact suggestions
+     */
+    public List<BookSuggestion> suggest(String prefix, Integer limit, boolean availableOnly, Long categoryId) {
+        int max = limit == null ? BookSuggestionTrie.DEFAULT_LIMIT : limit;
+        if (categoryId == null) {
+            return bookSuggestionTrie.suggest(prefix, max, availableOnly ? Constants.BOOK_STATUS_AVAILABLE : null);
+        }
+        return bookSuggestionTrie.suggest(prefix, max, availableOnly
+                ? id -> availabilityIndex.isAvailableIn(id, categoryId)
+                : id -> availabilityIndex.isInCategory(id, categoryId));
+    }
+    
+    /**
+     * Full-text search for books by title, authors, publisher or ISBN
+     * Every word of the query is matched as a prefix; results are ranked by ts_rank
+     * 
+     * @param query the search query
+     * @param limit maximum number of results, clamped to Constants.MAX_PAGE_SIZE
+     * @return list of matching books, best match first
+     */
+    @Transactional(readOnly = true)
+    public List<Book> search(String query, int limit) {
+        String tsQuery = toPrefixTsQuery(query);
+        if (tsQuery.isEmpty()) {
+            return new ArrayList<>();
+        }
+        logger.debug("Full-text searching books with query: {}", tsQuery);
+        return bookRepository.searchFullText(tsQuery, Math.max(1, Math.min(limit, Constants.MAX_PAGE_SIZE)));
+    }
+    
+    /**
+     * Turn free text into a to_tsquery expression of prefix terms joined with AND
+     * Only letters and digits are kept, so user input can never produce a tsquery syntax error;
+     * hyphens between digits are dropped to match the indexed ISBN form
+     */
+    static String toPrefixTsQuery(String query) {
+        if (query == null) {
+            return "";
+        }
+        String normalized = query.toLowerCase().replaceAll("(?<=\\d)-(?=\\d)", "");
+        StringBuilder tsQuery = new StringBuilder();
+        for (String term : normalized.split("[^\\p{L}\\p{N}]+")) {
+            if (!term.isEmpty()) {
+                if (tsQuery.length() > 0) {
+                    tsQuery.append(" & ");
+                }
+                tsQuery.append(term).append(":*");
+            }
+        }
+        return tsQuery.toString();
     }
     
     /**
@@ -180,13 +453,13 @@ public class BookService {
     }
     
     /**
-     * Get total count of issued books
+     * Get total count of issued copies
      * 
-     * @return total count of issued books
+     * @return total count of issued copies
      */
     public Long getTotalIssuedBooks() {
-        logger.debug("Getting total count of issued books");
-        return bookRepository.countByStatus(Constants.BOOK_STATUS_ISSUED);
+        logger.debug("Getting total count of issued copies");
+        return bookRepository.sumIssuedCopies();
     }
     
     /**
@@ -0,0 +1,351 @@
+package com.spark.lms.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.spark.lms.dto.BookSuggestion;
+import com.spark.lms.model.Book;
+
+/**
+ * In-memory prefix trie over book titles, tags and ISBNs
+ * Serves type-ahead suggestions without a database round trip per keystroke.
+ * Titles are indexed from the start of every word, so "java" also suggests "Effective Java".
+ */
+@Component
+public class BookSuggestionTrie {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookSuggestionTrie.class);
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    // Keys (and queries) are cut to this length to bound the number of nodes per book
+    private static final int MAX_KEY_LENGTH = 24;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Node root = new Node();
+
+    // Indexed books by ID, with the keys they were inserted under
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    /**
+     * Replace the whole trie with the given books
+     *
+     * @param books all books in the catalog
+     */
+    public void rebuild(Collection<Book> books) {
+        lock.writeLock().lock();
+        try {
+            root.clear();
+            entries.clear();
+            for (Book book : books) {
+                add(book);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Book suggestion trie built with {} books", books.size());
+    }
+
+    /**
+     * Add or replace a single book
+     *
+     * @param book the book to index
+     */
+    public void index(Book book) {
+        if (book == null || book.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            unlink(book.getId());
+            add(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a book
+     *
+     * @param id the book ID
+     */
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            unlink(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reflect a bulk status change on the suggested books
+     *
+     * @param ids the book IDs
+     * @param status the new status
+     */
+    public void updateStatus(Collection<Long> ids, Integer status) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                Entry entry = entries.get(id);
+                if (entry != null) {
+                    entry.suggestion = new BookSuggestion(id, entry.suggestion.title(), entry.suggestion.tag(),
+                            entry.suggestion.authors(), entry.suggestion.isbn(), status);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Books with a title word, tag or ISBN starting with the prefix (case-insensitive)
+     *
+     * @param prefix the typed prefix
+     * @param limit maximum number of suggestions, clamped to MAX_LIMIT
+     * @return suggestions in key order, each book at most once
+     */
+    public List<BookSuggestion> suggest(String prefix, int limit) {
+        return suggest(prefix, limit, (Predicate<Long>) null);
+    }
+
+    /**
+     * Books with a title word, tag or ISBN starting with the prefix and, if given, the status
+     *
+     * @param prefix the typed prefix
+     * @param limit maximum number of suggestions, clamped to MAX_LIMIT
+     * @param status only books with this status, or null for any
+     * @return suggestions in key order, each book at most once
+     */
+    public List<BookSuggestion> suggest(String prefix, int limit, Integer status) {
+        if (status == null) {
+            return suggest(prefix, limit, (Predicate<Long>) null);
+        }
+        return suggest(prefix, limit, id -> status.equals(entries.get(id).suggestion.status()));
+    }
+
+    /**
+     * Books with a title word, tag or ISBN starting with the prefix that pass the filter
+     * The filter is applied during the walk, so rejected books do not count towards the limit.
+     * It runs under the trie's read lock and must not call back into the trie.
+     *
+     * @param prefix the typed prefix
+     * @param limit maximum number of suggestions, clamped to MAX_LIMIT
+     * @param filter accepts book IDs to suggest, or null for all
+     * @return suggestions in key order, each book at most once
+     */
+    public List<BookSuggestion> suggest(String prefix, int limit, Predicate<Long> filter) {
+        String key = truncate(normalize(prefix));
+        int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+        if (key.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int k = 0; k < key.length() && node != null; k++) {
+                node = node.child(key.charAt(k));
+            }
+            if (node == null) {
+                return Collections.emptyList();
+            }
+
+            Set<Long> ids = new LinkedHashSet<>();
+            collect(node, ids, max, filter == null ? id -> true : filter);
+            List<BookSuggestion> result = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                result.add(entries.get(id).suggestion);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Depth-first walk in key order, stopping as soon as enough matching books were found
+     */
+    private static boolean collect(Node node, Set<Long> ids, int max, Predicate<Long> filter) {
+        if (node.ids != null) {
+            for (Long id : node.ids) {
+                if (filter.test(id)) {
+                    ids.add(id);
+                    if (ids.size() >= max) {
+                        return true;
+                    }
+                }
+            }
+        }
+        for (int k = 0; k < node.size; k++) {
+            if (collect(node.nodes[k], ids, max, filter)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void add(Book book) {
+        Entry entry = new Entry(book);
+        entries.put(book.getId(), entry);
+        for (String key : entry.keys) {
+            Node node = root;
+            for (int k = 0; k < key.length(); k++) {
+                node = node.getOrAddChild(key.charAt(k));
+            }
+            if (node.ids == null) {
+                node.ids = new LinkedHashSet<>(2);
+            }
+            node.ids.add(book.getId());
+        }
+    }
+
+    private void unlink(Long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (String key : entry.keys) {
+            removeKey(root, key, 0, id);
+        }
+    }
+
+    /**
+     * Remove the ID under the key and prune nodes left empty
+     *
+     * @return true if the node no longer holds anything
+     */
+    private static boolean removeKey(Node node, String key, int depth, Long id) {
+        if (depth == key.length()) {
+            if (node.ids != null) {
+                node.ids.remove(id);
+                if (node.ids.isEmpty()) {
+                    node.ids = null;
+                }
+            }
+        } else {
+            Node child = node.child(key.charAt(depth));
+            if (child != null && removeKey(child, key, depth + 1, id)) {
+                node.removeChild(key.charAt(depth));
+            }
+        }
+        return node.ids == null && node.size == 0;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase().replaceAll("\\s+", " ");
+    }
+
+    private static String truncate(String key) {
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    /**
+     * Trie node with its children in parallel arrays sorted by character
+     */
+    private static class Node {
+
+        private static final char[] NO_LABELS = new char[0];
+        private static final Node[] NO_NODES = new Node[0];
+
+        private char[] labels = NO_LABELS;
+        private Node[] nodes = NO_NODES;
+        private int size;
+
+        // Books whose key ends at this node
+        private Set<Long> ids;
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, 0, size, label);
+            return index >= 0 ? nodes[index] : null;
+        }
+
+        Node getOrAddChild(char label) {
+            int index = Arrays.binarySearch(labels, 0, size, label);
+            if (index >= 0) {
+                return nodes[index];
+            }
+            int insert = -index - 1;
+            if (size == labels.length) {
+                int capacity = Math.max(2, size * 2);
+                labels = Arrays.copyOf(labels, capacity);
+                nodes = Arrays.copyOf(nodes, capacity);
+            }
+            System.arraycopy(labels, insert, labels, insert + 1, size - insert);
+            System.arraycopy(nodes, insert, nodes, insert + 1, size - insert);
+            Node child = new Node();
+            labels[insert] = label;
+            nodes[insert] = child;
+            size++;
+            return child;
+        }
+
+        void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, 0, size, label);
+            if (index >= 0) {
+                System.arraycopy(labels, index + 1, labels, index, size - index - 1);
+                System.arraycopy(nodes, index + 1, nodes, index, size - index - 1);
+                size--;
+                nodes[size] = null;
+            }
+        }
+
+        void clear() {
+            labels = NO_LABELS;
+            nodes = NO_NODES;
+            size = 0;
+            ids = null;
+        }
+    }
+
+    /**
+     * Indexed view of a single book
+     */
+    private static class Entry {
+
+        private BookSuggestion suggestion;
+        private final Set<String> keys = new LinkedHashSet<>();
+
+        Entry(Book book) {
+            this.suggestion = new BookSuggestion(book.getId(), book.getTitle(), book.getTag(), book.getAuthors(),
+                    book.getIsbn(), book.getStatus());
+
+            String title = normalize(book.getTitle());
+            if (!title.isEmpty()) {
+                keys.add(truncate(title));
+                // Every word start, so a later word of the title is also a prefix
+                for (int k = title.indexOf(' '); k >= 0; k = title.indexOf(' ', k + 1)) {
+                    if (k + 1 < title.length()) {
+                        keys.add(truncate(title.substring(k + 1)));
+                    }
+                }
+            }
+            String tag = normalize(book.getTag());
+            if (!tag.isEmpty()) {
+                keys.add(truncate(tag));
+            }
+            String isbn = normalize(book.getIsbn());
+            if (!isbn.isEmpty()) {
+                keys.add(truncate(isbn));
+                keys.add(truncate(isbn.replaceAll("[\\s-]", "")));
+            }
+        }
+    }
+}
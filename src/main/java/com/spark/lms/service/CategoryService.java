@@ -4,8 +4,11 @@ import java.util.Date;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import com.spark.lms.common.Constants;
 import com.spark.lms.model.Category;
 import com.spark.lms.repository.CategoryRepository;
 
@@ -15,10 +18,18 @@ public class CategoryService {
 	@Autowired
 	private CategoryRepository categoryRepository;
 	
+	@Autowired
+	private DashboardStatsCache dashboardStatsCache;
+	
 	public Long getTotalCount() {
 		return categoryRepository.count();
 	}
 	
+	/**
+	 * Categories sorted by name, served from the categories cache
+	 * Every book and issue page loads this list as a model attribute
+	 */
+	@Cacheable(Constants.CACHE_CATEGORIES)
 	public List<Category> getAllBySort() {
 		return categoryRepository.findAllByOrderByNameAsc();
 	}
@@ -35,21 +46,39 @@ public class CategoryService {
 		return categoryRepository.findByName(name);
 	}
 	
+	@CacheEvict(cacheNames = Constants.CACHE_CATEGORIES, allEntries = true)
 	public Category addNew(Category category) {
 		category.setCreatedDate(new Date());
-		return categoryRepository.save(category);
+		boolean isNew = category.getId() == null;
+		Category saved = categoryRepository.save(category);
+		if (isNew) {
+			dashboardStatsCache.categoryAdded();
+		}
+		return saved;
 	}
 	
+	@CacheEvict(cacheNames = Constants.CACHE_CATEGORIES, allEntries = true)
 	public Category save(Category category) {
-		return categoryRepository.save(category);
+		boolean isNew = category.getId() == null;
+		Category saved = categoryRepository.save(category);
+		if (isNew) {
+			dashboardStatsCache.categoryAdded();
+		}
+		return saved;
 	}
 	
+	@CacheEvict(cacheNames = Constants.CACHE_CATEGORIES, allEntries = true)
 	public void delete(Category category) {
 		categoryRepository.delete(category);
+		dashboardStatsCache.categoryRemoved();
 	}
 	
+	@CacheEvict(cacheNames = Constants.CACHE_CATEGORIES, allEntries = true)
 	public void delete(Long id) {
-		categoryRepository.deleteById(id);
+		if (categoryRepository.existsById(id)) {
+			categoryRepository.deleteById(id);
+			dashboardStatsCache.categoryRemoved();
+		}
 	}
 	
 	public boolean hasUsage(Category category) {
@@ -0,0 +1,231 @@
+package com.spark.lms.service;
+
+import static com.spark.lms.util.TransactionCallbacks.afterCommit;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.spark.lms.model.Book;
+
+/**
+ * Lock-striped in-memory counters of available and total copies per book
+ * Serves copy counts on the hot read path without touching the book row. Books are spread
+ * over independent stripes, so checkouts of different titles never contend on the same lock.
+ * Built from book.available_copies at startup and updated when the surrounding transaction commits.
+ */
+@Component
+public class CopyCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CopyCounter.class);
+
+    // Must be a power of two
+    private static final int STRIPES = 64;
+    private static final int STRIPE_SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(STRIPES);
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    private volatile boolean ready = false;
+
+    public CopyCounter() {
+        for (int k = 0; k < STRIPES; k++) {
+            stripes[k] = new Stripe();
+        }
+    }
+
+    /**
+     * Replace all counters with those of the given books
+     *
+     * @param books all books in the catalog
+     */
+    public void rebuild(Collection<Book> books) {
+        // Always in stripe order, so concurrent rebuilds cannot deadlock
+        for (Stripe stripe : stripes) {
+            stripe.lock.writeLock().lock();
+        }
+        try {
+            for (Stripe stripe : stripes) {
+                stripe.copies.clear();
+            }
+            for (Book book : books) {
+                stripe(book.getId()).copies.put(book.getId(), counts(book));
+            }
+            ready = true;
+        } finally {
+            for (Stripe stripe : stripes) {
+                stripe.lock.writeLock().unlock();
+            }
+        }
+        logger.info("Copy counters built for {} books", books.size());
+    }
+
+    /**
+     * Set the counters of a single book once the surrounding transaction commits
+     *
+     * @param book the saved book
+     */
+    public void put(Book book) {
+        if (book == null || book.getId() == null) {
+            return;
+        }
+        Long id = book.getId();
+        int[] counts = counts(book);
+        afterCommit(() -> {
+            Stripe stripe = stripe(id);
+            stripe.lock.writeLock().lock();
+            try {
+                stripe.copies.put(id, counts);
+            } finally {
+                stripe.lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Drop the counters of a book once the surrounding transaction commits
+     *
+     * @param id the book ID
+     */
+    public void remove(Long id) {
+        afterCommit(() -> {
+            Stripe stripe = stripe(id);
+            stripe.lock.writeLock().lock();
+            try {
+                stripe.copies.remove(id);
+            } finally {
+                stripe.lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Add a delta to the available copies of several books once the surrounding transaction commits
+     * Counts are kept between zero and the number of copies. Books that run out of copies
+     * or get their first copy back are handed to the listener, still after commit.
+     *
+     * @param ids the book IDs
+     * @param delta copies taken (negative) or put back (positive) per book
+     * @param availabilityChanged receives the IDs of books whose availability flipped
+     */
+    public void adjust(Collection<Long> ids, int delta, Consumer<List<Long>> availabilityChanged) {
+        adjust(ids, delta, changed -> {}, availabilityChanged);
+    }
+
+    /**
+     * Add a delta to the available copies of several books once the surrounding transaction commits
+     * Like {@link #adjust(Collection, int, Consumer)}, and also hands every book whose count
+     * actually changed, with its new count, to copiesChanged before availabilityChanged runs.
+     *
+     * @param ids the book IDs
+     * @param delta copies taken (negative) or put back (positive) per book
+     * @param copiesChanged receives the new available copies by book ID
+     * @param availabilityChanged receives the IDs of books whose availability flipped
+     */
+    public void adjust(Collection<Long> ids, int delta, Consumer<Map<Long, Integer>> copiesChanged,
+            Consumer<List<Long>> availabilityChanged) {
+        List<Long> bookIds = new ArrayList<>(ids);
+        afterCommit(() -> {
+            Map<Long, Integer> changed = new HashMap<>();
+            List<Long> flipped = new ArrayList<>();
+            for (Long id : bookIds) {
+                Stripe stripe = stripe(id);
+                stripe.lock.writeLock().lock();
+                try {
+                    int[] counts = stripe.copies.get(id);
+                    if (counts != null) {
+                        int before = counts[0];
+                        counts[0] = Math.max(0, Math.min(counts[1], before + delta));
+                        if (counts[0] != before) {
+                            changed.put(id, counts[0]);
+                        }
+                        if ((before > 0) != (counts[0] > 0)) {
+                            flipped.add(id);
+                        }
+                    }
+                } finally {
+                    stripe.lock.writeLock().unlock();
+                }
+            }
+            if (!changed.isEmpty()) {
+                copiesChanged.accept(changed);
+            }
+            if (!flipped.isEmpty()) {
+                availabilityChanged.accept(flipped);
+            }
+        });
+    }
+
+    /**
+     * Whether the counters have been built and can answer queries
+     *
+     * @return true once rebuild has completed
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Available copies of a book
+     *
+     * @param id the book ID
+     * @return the available copies, or -1 if the book is not counted
+     */
+    public int available(Long id) {
+        return read(id, 0);
+    }
+
+    /**
+     * Total copies of a book
+     *
+     * @param id the book ID
+     * @return the number of copies, or -1 if the book is not counted
+     */
+    public int total(Long id) {
+        return read(id, 1);
+    }
+
+    private int read(Long id, int index) {
+        Stripe stripe = stripe(id);
+        stripe.lock.readLock().lock();
+        try {
+            int[] counts = stripe.copies.get(id);
+            return counts == null ? -1 : counts[index];
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    private Stripe stripe(Long id) {
+        // Fibonacci hashing, so sequential IDs land on different stripes
+        return stripes[(int) ((id * 0x9E3779B97F4A7C15L) >>> STRIPE_SHIFT)];
+    }
+
+    /**
+     * Available and total copies of a book; missing values count as one copy on the shelf
+     */
+    private static int[] counts(Book book) {
+        int total = book.getNumOfCopies() == null ? 1 : book.getNumOfCopies();
+        int available = book.getAvailableCopies() == null ? total : book.getAvailableCopies();
+        return new int[] { available, total };
+    }
+
+    /**
+     * One lock and the counters of the books hashed to it
+     */
+    private static class Stripe {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        // Book ID to { available, total }
+        private final Map<Long, int[]> copies = new HashMap<>();
+    }
+}
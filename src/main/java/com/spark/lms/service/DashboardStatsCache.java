@@ -0,0 +1,145 @@
+package com.spark.lms.service;
+
+import static com.spark.lms.util.TransactionCallbacks.afterCommit;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.spark.lms.common.Constants;
+import com.spark.lms.dto.DashboardStats;
+import com.spark.lms.repository.MemberRepository;
+
+/**
+ * In-memory counters behind the dashboard top tiles
+ * Kept up to date by the services on every mutation and periodically reconciled against the database
+ */
+@Component
+public class DashboardStatsCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardStatsCache.class);
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    private final AtomicLong totalMembers = new AtomicLong();
+    private final AtomicLong totalStudents = new AtomicLong();
+    private final AtomicLong totalParents = new AtomicLong();
+    private final AtomicLong totalCategories = new AtomicLong();
+    private final AtomicLong totalBooks = new AtomicLong();
+    private final AtomicLong totalCopies = new AtomicLong();
+    private final AtomicLong totalIssuedBooks = new AtomicLong();
+
+    private volatile boolean loaded = false;
+
+    /**
+     * Reload every counter from the database
+     * Runs at startup and then on a fixed delay to correct any drift.
+     * Deliberately not read-only, so it reads the primary: counts from a lagging replica
+     * would overwrite after-commit deltas that are already applied.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${libtrack.dashboard.reconcile-interval-ms:300000}",
+            fixedDelayString = "${libtrack.dashboard.reconcile-interval-ms:300000}")
+    @Transactional
+    public void reconcile() {
+        DashboardStats stats = memberRepository.fetchDashboardStats(Constants.MEMBER_STUDENT,
+                Constants.MEMBER_PARENT);
+        totalMembers.set(stats.totalMembers());
+        totalStudents.set(stats.totalStudents());
+        totalParents.set(stats.totalParents());
+        totalCategories.set(stats.totalCategories());
+        totalBooks.set(stats.totalBooks());
+        totalCopies.set(stats.totalCopies());
+        totalIssuedBooks.set(stats.totalIssuedBooks());
+        loaded = true;
+        logger.debug("Dashboard counters reconciled: {}", snapshot());
+    }
+
+    /**
+     * Current values of the top tiles
+     *
+     * @return map of tile name to count
+     */
+    public Map<String, Long> getTopTiles() {
+        if (!loaded) {
+            reconcile();
+        }
+        return snapshot();
+    }
+
+    public void memberAdded(String type) {
+        apply(totalMembers, 1);
+        apply(typeCounter(type), 1);
+    }
+
+    public void memberRemoved(String type) {
+        apply(totalMembers, -1);
+        apply(typeCounter(type), -1);
+    }
+
+    public void categoryAdded() {
+        apply(totalCategories, 1);
+    }
+
+    public void categoryRemoved() {
+        apply(totalCategories, -1);
+    }
+
+    public void bookAdded(long copies) {
+        apply(totalBooks, 1);
+        apply(totalCopies, copies);
+    }
+
+    public void bookRemoved(long copies, long issuedCopies) {
+        apply(totalBooks, -1);
+        apply(totalCopies, -copies);
+        apply(totalIssuedBooks, -issuedCopies);
+    }
+
+    public void copiesAdded(long delta) {
+        apply(totalCopies, delta);
+    }
+
+    /**
+     * Record copies being issued or returned
+     *
+     * @param delta positive when copies were issued, negative when returned
+     */
+    public void issuedBooksChanged(long delta) {
+        apply(totalIssuedBooks, delta);
+    }
+
+    private Map<String, Long> snapshot() {
+        return new DashboardStats(totalMembers.get(), totalStudents.get(), totalParents.get(),
+                totalCategories.get(), totalBooks.get(), totalCopies.get(), totalIssuedBooks.get()).toMap();
+    }
+
+    private AtomicLong typeCounter(String type) {
+        if (Constants.MEMBER_STUDENT.equals(type)) {
+            return totalStudents;
+        }
+        if (Constants.MEMBER_PARENT.equals(type)) {
+            return totalParents;
+        }
+        return null;
+    }
+
+    /**
+     * Apply a delta once the surrounding transaction commits, or immediately outside one
+     */
+    private void apply(AtomicLong counter, long delta) {
+        if (counter == null || delta == 0) {
+            return;
+        }
+        afterCommit(() -> counter.addAndGet(delta));
+    }
+}
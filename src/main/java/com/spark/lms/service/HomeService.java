@@ -1,34 +1,20 @@
 package com.spark.lms.service;
 
-import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-
-import com.spark.lms.common.Constants;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class HomeService {
 
 	@Autowired
-	private MemberService memberService;
-	
-	@Autowired
-	private CategoryService categoryService;
-	
-	@Autowired
-	private BookService bookService;
+	private DashboardStatsCache dashboardStatsCache;
 	
+	@Transactional(readOnly = true)
 	public Map<String, Long> getTopTilesMap() {
-		Map<String, Long> map = new HashMap<String, Long>();
-		map.put("totalMembers", memberService.getTotalCount());
-		map.put("totalStudents", memberService.getStudentsCount());
-		map.put("totalParents", memberService.getParentsCount());
-		map.put("totalCategories", categoryService.getTotalCount());
-		map.put("totalBooks", bookService.getTotalCount());
-		map.put("totalIssuedBooks", bookService.getTotalIssuedBooks());
-		return map;
+		return dashboardStatsCache.getTopTiles();
 	}
 	
 }
@@ -1,25 +1,55 @@
 package com.spark.lms.service;
 
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.ThreadLocalRandom;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.spark.lms.common.Constants;
+import com.spark.lms.exception.ResourceNotFoundException;
 import com.spark.lms.model.Issue;
-import com.spark.lms.model.IssuedBook;
 import com.spark.lms.model.Member;
 import com.spark.lms.repository.IssueRepository;
+import com.spark.lms.repository.IssuedBookRepository;
 
 @Service
 public class IssueService {
 
+    private static final Logger logger = LoggerFactory.getLogger(IssueService.class);
+    
+    // Checkout attempts on lock conflicts (deadlocks, optimistic lock failures) and the first backoff
+    static final int CHECKOUT_MAX_ATTEMPTS = 3;
+    private static final long CHECKOUT_BACKOFF_MS = 20;
+    
     @Autowired
     private IssueRepository issueRepository;
     
+    @Autowired
+    private IssuedBookRepository issuedBookRepository;
+    
+    @Autowired
+    private MemberService memberService;
+    
+    @Autowired
+    private BookService bookService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Transactional(readOnly = true)
     public List<Issue> getAll() {
         return issueRepository.findAll();
     }
@@ -28,6 +58,10 @@ public class IssueService {
         return issueRepository.findById(id).orElse(null);
     }
     
+    public boolean exists(Long id) {
+        return issueRepository.existsById(id);
+    }
+    
     public List<Issue> findByMember(Member member) {
         return issueRepository.findByMember(member);
     }
@@ -57,17 +91,87 @@ public class IssueService {
         return issueRepository.save(issue);
     }
     
+    /**
+     * Issue several books to a member in one transaction
+     * Inserts the issue and all issued_book rows with one INSERT ... SELECT, then takes a copy
+     * of each book with one conditional update (only where a copy is left).
+     * Lock conflicts are retried a bounded number of times with jittered exponential backoff;
+     * books whose last copy went to someone else fail at once with BookUnavailableException.
+     * @param memberId The member borrowing the books
+     * @param bookIds The books to issue
+     * @return The saved issue
+     */
+    public Issue checkout(Long memberId, List<Long> bookIds) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transaction.execute(status -> doCheckout(memberId, bookIds));
+            } catch (ConcurrencyFailureException ex) {
+                if (attempt >= CHECKOUT_MAX_ATTEMPTS) {
+                    throw ex;
+                }
+                logger.warn("Checkout attempt {} of books {} failed on a lock conflict, retrying: {}",
+                        attempt, bookIds, ex.getMessage());
+                backoff(attempt, ex);
+            }
+        }
+    }
+    
+    private Issue doCheckout(Long memberId, List<Long> bookIds) {
+        Member member = memberService.get(memberId);
+        if (member == null) {
+            throw new ResourceNotFoundException("Member", "id", memberId);
+        }
+        Issue issue = new Issue();
+        issue.setMember(member);
+        issue.setCreatedDate(new Date());
+        issue = addNew(issue);
+        
+        issuedBookRepository.insertForIssue(issue.getId(), bookIds, Constants.BOOK_NOT_RETURNED);
+        
+        // Claimed last, so the book row locks are held only until the commit, not across the inserts.
+        // Fails with ResourceNotFoundException or BookUnavailableException (rolling back) unless all are claimed
+        bookService.claimForCheckout(bookIds);
+        
+        return issue;
+    }
+    
+    /**
+     * Sleep before the next checkout attempt: base * 2^(attempt-1) plus up to as much again of jitter
+     */
+    private static void backoff(int attempt, ConcurrencyFailureException cause) {
+        long delay = CHECKOUT_BACKOFF_MS << (attempt - 1);
+        try {
+            Thread.sleep(delay + ThreadLocalRandom.current().nextLong(delay + 1));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+    
     /**
      * Get all issues that have at least one book not returned
      * @return List of issues with unreturned books
      */
     public List<Issue> getAllUnreturned() {
-        List<Issue> allIssues = issueRepository.findAll();
-        
-        // Filter issues that have at least one book not returned
-        return allIssues.stream()
-            .filter(issue -> issue.getIssuedBooks().stream()
-                .anyMatch(book -> Constants.BOOK_NOT_RETURNED.equals(book.getReturned())))
-            .collect(Collectors.toList());
+        return issueRepository.findByIssuedBookReturned(Constants.BOOK_NOT_RETURNED);
+    }
+    
+    /**
+     * Get one page of issues that have at least one book not returned
+     * @param page Zero-based page number
+     * @param size Page size, clamped to Constants.MAX_PAGE_SIZE
+     * @return Page of issues with unreturned books
+     */
+    public Page<Issue> getUnreturned(int page, Integer size) {
+        int pageSize = (size == null || size < 1) ? Constants.DEFAULT_PAGE_SIZE : Math.min(size, Constants.MAX_PAGE_SIZE);
+        Page<Long> ids = issueRepository.findIdsByIssuedBookReturned(Constants.BOOK_NOT_RETURNED,
+                PageRequest.of(Math.max(page, 0), pageSize));
+        if (ids.isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), ids.getPageable(), ids.getTotalElements());
+        }
+        // Fetch the graph for this page only; a collection fetch join cannot be paged in SQL
+        List<Issue> issues = issueRepository.findListGraphByIdIn(ids.getContent());
+        return new PageImpl<>(issues, ids.getPageable(), ids.getTotalElements());
     }
 }
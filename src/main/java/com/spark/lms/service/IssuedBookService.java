@@ -1,13 +1,17 @@
 package com.spark.lms.service;
 
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.spark.lms.common.Constants;
 import com.spark.lms.model.Book;
 import com.spark.lms.model.IssuedBook;
+import com.spark.lms.repository.IssueRepository;
 import com.spark.lms.repository.IssuedBookRepository;
 
 @Service
@@ -16,6 +20,12 @@ public class IssuedBookService {
     @Autowired
     private IssuedBookRepository issuedBookRepository;
     
+    @Autowired
+    private IssueRepository issueRepository;
+    
+    @Autowired
+    private BookService bookService;
+    
     public IssuedBook get(Long id) {
         return issuedBookRepository.findById(id).orElse(null);
     }
@@ -35,6 +45,48 @@ public class IssuedBookService {
         return issuedBookRepository.save(issuedBook);
     }
     
+    /**
+     * Return books of an issue with two bulk updates in one transaction
+     * @param issueId The issue the books belong to
+     * @param ids The issued book IDs to return, or null to return all of them
+     * @return Number of issued books marked as returned
+     */
+    @Transactional
+    public int returnBooks(Long issueId, Collection<Long> ids) {
+        if (ids != null && ids.isEmpty()) {
+            return 0;
+        }
+        
+        Date now = new Date();
+        List<Long> bookIds;
+        int count;
+        // Lock the rows first, so a concurrent return of the same books puts no copy back twice
+        if (ids == null) {
+            bookIds = issuedBookRepository.lockBookIdsByIssue(issueId, Constants.BOOK_NOT_RETURNED);
+            count = issuedBookRepository.markReturned(issueId, Constants.BOOK_RETURNED, now);
+        } else {
+            bookIds = issuedBookRepository.lockBookIdsByIssueAndIds(issueId, ids, Constants.BOOK_NOT_RETURNED);
+            count = issuedBookRepository.markReturned(issueId, ids, Constants.BOOK_RETURNED, now);
+        }
+        
+        // Book rows last, so their locks are held only until the commit
+        if (!bookIds.isEmpty()) {
+            bookService.returnCopies(bookIds);
+        }
+        return count;
+    }
+    
+    /**
+     * Return every book of an issue and close the issue
+     * @param issueId The issue to close
+     * @return Number of issued books marked as returned
+     */
+    @Transactional
+    public int returnAll(Long issueId) {
+        issueRepository.updateStatus(issueId, Constants.BOOK_RETURNED);
+        return returnBooks(issueId, null);
+    }
+    
     public Long getCountByBook(Book book) {
         return issuedBookRepository.countByBook(book);
     }
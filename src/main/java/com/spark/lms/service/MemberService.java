@@ -3,6 +3,8 @@ package com.spark.lms.service;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,6 +13,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.spark.lms.common.Constants;
+import com.spark.lms.dto.MemberSummary;
 import com.spark.lms.model.Member;
 import com.spark.lms.repository.MemberRepository;
 
@@ -25,11 +28,26 @@ public class MemberService {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private DashboardStatsCache dashboardStatsCache;
+    
+    @Transactional(readOnly = true)
     public List<Member> getAll() {
         logger.debug("Fetching all members");
         return memberRepository.findAll();
     }
     
+    /**
+     * Pass every member summary to the consumer without holding the full list in memory
+     */
+    @Transactional(readOnly = true)
+    public void streamSummaries(Consumer<MemberSummary> consumer) {
+        logger.debug("Streaming member summaries");
+        try (Stream<MemberSummary> members = memberRepository.streamAllSummaries()) {
+            members.forEach(consumer);
+        }
+    }
+    
     public Member get(Long id) {
         logger.debug("Fetching member with id: {}", id);
         return memberRepository.findById(id).orElse(null);
@@ -38,12 +56,22 @@ public class MemberService {
     public Member addNew(Member member) {
         logger.info("Adding new member: {}", member.getFullName());
         member.setJoiningDate(new Date());
-        return memberRepository.save(member);
+        boolean isNew = member.getId() == null;
+        Member saved = memberRepository.save(member);
+        if (isNew) {
+            dashboardStatsCache.memberAdded(saved.getType());
+        }
+        return saved;
     }
     
     public Member save(Member member) {
         logger.info("Saving member: {}", member.getFullName());
-        return memberRepository.save(member);
+        boolean isNew = member.getId() == null;
+        Member saved = memberRepository.save(member);
+        if (isNew) {
+            dashboardStatsCache.memberAdded(saved.getType());
+        }
+        return saved;
     }
     
     @Transactional
@@ -57,6 +85,7 @@ public class MemberService {
                 userService.deleteByMember(member);
                 // Then delete the member
                 memberRepository.deleteById(id);
+                dashboardStatsCache.memberRemoved(member.getType());
                 logger.info("Successfully deleted member with id: {}", id);
             } else {
                 logger.warn("Member with id {} not found for deletion", id);
@@ -1,13 +1,17 @@
 package com.spark.lms.service;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.spark.lms.common.Constants;
+import com.spark.lms.dto.CursorPage;
+import com.spark.lms.dto.UserSummary;
 import com.spark.lms.model.Member;
 import com.spark.lms.model.User;
 import com.spark.lms.repository.UserRepository;
@@ -25,6 +29,30 @@ public class UserService {
         return userRepository.findAll();
     }
     
+    /**
+     * Get a page of user summaries using keyset pagination on ID
+     * 
+     * @param afterId the last ID of the previous page, or null for the first page
+     * @param size the requested page size
+     * @return the page of user summaries
+     */
+    public CursorPage<UserSummary> getSummaryPage(Long afterId, Integer size) {
+        int pageSize = (size == null || size < 1) ? Constants.DEFAULT_PAGE_SIZE : Math.min(size, Constants.MAX_PAGE_SIZE);
+        
+        // Fetch one extra row to know whether there is a next page
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<UserSummary> users = afterId == null
+                ? userRepository.findSummaryFirstPage(limit)
+                : userRepository.findSummaryPageAfter(afterId, limit);
+        
+        Long nextCursor = null;
+        if (users.size() > pageSize) {
+            users = new ArrayList<>(users.subList(0, pageSize));
+            nextCursor = users.get(pageSize - 1).getId();
+        }
+        return new CursorPage<>(users, nextCursor, pageSize);
+    }
+    
     public User getByUsername(String username) {
         return userRepository.findByUsername(username);
     }
@@ -1,22 +1,53 @@
 package com.spark.lms.util;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 /**
  * Aspect for timing database operations
- * This helps identify slow queries for optimization
+ * Records a Micrometer timer per repository/service method (with p50/p95/p99)
+ * and an error counter, and logs calls slower than the configured threshold
  */
 @Aspect
 @Component
 public class DatabaseQueryTimer {
 
     private static final Logger logger = LoggerFactory.getLogger(DatabaseQueryTimer.class);
-    
+
+    private static final String TIMER_NAME = "libtrack.db.method";
+    private static final String ERROR_COUNTER_NAME = "libtrack.db.method.errors";
+
+    private static final String REPOSITORY_PACKAGE = "com.spark.lms.repository.";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Threshold in milliseconds for slow method warning
+    @Value("${libtrack.db.slow-threshold-ms:500}")
+    private long slowThresholdMs;
+
+    // Timers are looked up once per method rather than rebuilt on every call
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    // Repository interface name by proxy class
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
     /**
      * Times repository method executions
      */
@@ -24,7 +55,7 @@ public class DatabaseQueryTimer {
     public Object timeRepositoryMethods(ProceedingJoinPoint joinPoint) throws Throwable {
         return timeMethod(joinPoint, "Repository");
     }
-    
+
     /**
      * Times service method executions that are likely to involve database operations
      */
@@ -36,25 +67,71 @@ public class DatabaseQueryTimer {
     public Object timeServiceDatabaseMethods(ProceedingJoinPoint joinPoint) throws Throwable {
         return timeMethod(joinPoint, "Service");
     }
-    
+
     /**
-     * Generic method to time method execution and log if it exceeds thresholds
+     * Generic method to time method execution, record metrics and log if it exceeds the threshold
      */
     private Object timeMethod(ProceedingJoinPoint joinPoint, String type) throws Throwable {
-        long start = System.currentTimeMillis();
-        Object result = joinPoint.proceed();
-        long executionTime = System.currentTimeMillis() - start;
-        
-        String methodName = joinPoint.getSignature().getDeclaringTypeName() + "." + joinPoint.getSignature().getName();
-        
-        // Log all queries for debugging
-        logger.debug("{} method executed: {} - {} ms", type, methodName, executionTime);
-        
-        // Log slow queries with warning level
-        if (executionTime > 500) {
-            logger.warn("Slow {} method detected: {} - {} ms", type, methodName, executionTime);
+        Signature signature = joinPoint.getSignature();
+        String className = "Repository".equals(type)
+                ? repositoryName(joinPoint)
+                : signature.getDeclaringType().getSimpleName();
+        String methodName = signature.getName();
+
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            Counter.builder(ERROR_COUNTER_NAME)
+                    .description("Failed repository and service calls")
+                    .tag("layer", type)
+                    .tag("class", className)
+                    .tag("method", methodName)
+                    .tag("exception", ex.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment();
+            throw ex;
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+            timer(type, className, methodName).record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+            long executionTime = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+            if (executionTime > slowThresholdMs) {
+                logger.warn("Slow {} method detected: {}.{} - {} ms", type, className, methodName, executionTime);
+            } else if (logger.isDebugEnabled()) {
+                logger.debug("{} method executed: {}.{} - {} ms", type, className, methodName, executionTime);
+            }
+        }
+    }
+
+    /**
+     * Name of the invoked repository interface
+     * Inherited methods such as findById or save are declared on the Spring Data base
+     * interfaces, so the declaring type would merge every repository under one tag.
+     */
+    private String repositoryName(ProceedingJoinPoint joinPoint) {
+        Object proxy = joinPoint.getThis();
+        if (proxy == null) {
+            return joinPoint.getSignature().getDeclaringType().getSimpleName();
         }
-        
-        return result;
+        return repositoryNames.computeIfAbsent(proxy.getClass(), proxyClass -> {
+            for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(proxy)) {
+                if (type.getName().startsWith(REPOSITORY_PACKAGE)) {
+                    return type.getSimpleName();
+                }
+            }
+            return joinPoint.getSignature().getDeclaringType().getSimpleName();
+        });
+    }
+
+    private Timer timer(String type, String className, String methodName) {
+        return timers.computeIfAbsent(type + ":" + className + "." + methodName, key -> Timer.builder(TIMER_NAME)
+                .description("Execution time of repository and service calls")
+                .tag("layer", type)
+                .tag("class", className)
+                .tag("method", methodName)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
     }
 }
@@ -31,6 +31,7 @@ public class Mapper {
         dto.setIsbn(book.getIsbn());
         dto.setYearOfPublication(book.getYearOfPublication());
         dto.setNumOfCopies(book.getNumOfCopies());
+        dto.setAvailableCopies(book.getAvailableCopies());
         dto.setCreatedDate(book.getCreatedDate());
         dto.setStatus(book.getStatus());
         
@@ -59,6 +60,7 @@ public class Mapper {
         book.setIsbn(dto.getIsbn());
         book.setYearOfPublication(dto.getYearOfPublication());
         book.setNumOfCopies(dto.getNumOfCopies());
+        book.setAvailableCopies(dto.getAvailableCopies());
         book.setCreatedDate(dto.getCreatedDate());
         book.setStatus(dto.getStatus());
         book.setCategory(category);
@@ -0,0 +1,161 @@
+package com.spark.lms.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded lock-free ring buffer of request log events
+ * Request threads publish with a single CAS; a background writer thread drains
+ * the buffer and does the actual logging. Events are dropped (and counted)
+ * when the buffer is full rather than blocking a request thread.
+ * Owned by RequestResponseLoggingFilter, which starts and stops the writer.
+ */
+public class RequestLogBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestResponseLoggingFilter.class);
+
+    // Must be a power of two
+    private static final int CAPACITY = 8192;
+    private static final int MASK = CAPACITY - 1;
+
+    private final AtomicReferenceArray<Event> slots = new AtomicReferenceArray<>(CAPACITY);
+
+    // Next sequence to be claimed by a producer
+    private final AtomicLong head = new AtomicLong();
+
+    // Next sequence to be consumed by the writer
+    private volatile long tail = 0;
+
+    // Events dropped since the writer last reported them
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running = false;
+
+    // Set while the writer is about to park on an empty buffer; producers only unpark it then
+    private volatile boolean idle = false;
+
+    private Thread writer;
+
+    public void start() {
+        running = true;
+        writer = new Thread(this::drainLoop, "request-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * Publish an event without blocking
+     *
+     * @param event the event to log
+     * @return false if the buffer was full and the event was dropped
+     */
+    public boolean publish(Event event) {
+        while (true) {
+            long sequence = head.get();
+            if (sequence - tail >= CAPACITY) {
+                dropped.incrementAndGet();
+                return false;
+            }
+            if (head.compareAndSet(sequence, sequence + 1)) {
+                slots.set((int) (sequence & MASK), event);
+                if (idle) {
+                    LockSupport.unpark(writer);
+                }
+                return true;
+            }
+        }
+    }
+
+    private void drainLoop() {
+        while (running || tail < head.get()) {
+            if (!drain()) {
+                if (!running) {
+                    // A producer claimed a slot but has not published yet; give up on shutdown
+                    return;
+                }
+                // Re-check after announcing the park, so an event published in between is not missed
+                idle = true;
+                if (slots.get((int) (tail & MASK)) == null && running) {
+                    LockSupport.park(this);
+                }
+                idle = false;
+            }
+        }
+    }
+
+    /**
+     * Write every published event in order
+     *
+     * @return true if at least one event was written
+     */
+    private boolean drain() {
+        boolean wrote = false;
+        long sequence = tail;
+        while (true) {
+            int index = (int) (sequence & MASK);
+            Event event = slots.get(index);
+            if (event == null) {
+                break;
+            }
+            slots.set(index, null);
+            sequence++;
+            tail = sequence;
+            write(event);
+            wrote = true;
+        }
+
+        long lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            logger.warn("Request log buffer full, dropped {} events", lost);
+        }
+        return wrote;
+    }
+
+    private void write(Event event) {
+        try {
+            logger.info("Request: [{}] {} {} {} - {} ({} ms)", event.requestId, event.method, event.uri,
+                    event.protocol, event.status, TimeUnit.NANOSECONDS.toMillis(event.durationNanos));
+            if (event.detail != null) {
+                logger.debug("Request details: [{}] {}", event.requestId, event.detail);
+            }
+        } catch (RuntimeException ex) {
+            // Never let a logging failure kill the writer thread
+        }
+    }
+
+    /**
+     * One completed request
+     */
+    public static final class Event {
+
+        private final String requestId;
+        private final String method;
+        private final String uri;
+        private final String protocol;
+        private final int status;
+        private final long durationNanos;
+        private final String detail;
+
+        public Event(String requestId, String method, String uri, String protocol, int status,
+                long durationNanos, String detail) {
+            this.requestId = requestId;
+            this.method = method;
+            this.uri = uri;
+            this.protocol = protocol;
+            this.status = status;
+            this.durationNanos = durationNanos;
+            this.detail = detail;
+        }
+    }
+}
@@ -1,12 +1,12 @@
 package com.spark.lms.util;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,8 +16,9 @@ import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,7 +26,11 @@ import jakarta.servlet.http.HttpServletResponse;
 
 /**
  * Filter for logging HTTP requests and responses
- * Adds a request ID to each request for traceability
+ * Adds a request ID to each request for traceability. Log events are handed to
+ * RequestLogBuffer and written by a background thread; headers, parameters and
+ * a bounded body prefix are only captured when DEBUG logging is enabled.
+ * Responses are written through a tee that keeps only that prefix, never
+ * buffered in full before reaching the client.
  */
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE)
@@ -34,22 +39,40 @@ public class RequestResponseLoggingFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(RequestResponseLoggingFilter.class);
     private static final String REQUEST_ID_HEADER = "X-Request-ID";
     private static final String REQUEST_ID_MDC = "requestId";
-    
+    private static final String LOGGED_REQUEST_ATTRIBUTE = RequestResponseLoggingFilter.class.getName() + ".LOGGED_REQUEST";
+
     // List of headers that should not be logged due to sensitivity
-    private static final Collection<String> SENSITIVE_HEADERS = 
-            Collections.unmodifiableCollection(Collections.singletonList("Authorization"));
-    
+    private static final Collection<String> SENSITIVE_HEADERS =
+            Collections.unmodifiableCollection(Collections.singletonList("authorization"));
+
     // List of content types that should have their bodies logged
-    private static final Collection<String> LOGGABLE_CONTENT_TYPES = 
+    private static final Collection<String> LOGGABLE_CONTENT_TYPES =
             Collections.unmodifiableCollection(Collections.singletonList("application/json"));
-    
+
     // Maximum content length to log
     private static final int MAX_CONTENT_LENGTH = 1000;
 
+    // Request IDs are a per-boot prefix plus a monotonic counter, both base 36
+    private static final String REQUEST_ID_PREFIX = Long.toString(System.currentTimeMillis(), 36) + "-";
+    private final AtomicLong requestSequence = new AtomicLong();
+
+    // Owned here rather than injected, so the filter also works in sliced tests such as @WebMvcTest
+    private final RequestLogBuffer requestLogBuffer = new RequestLogBuffer();
+
+    @PostConstruct
+    public void startLogWriter() {
+        requestLogBuffer.start();
+    }
+
+    @PreDestroy
+    public void stopLogWriter() throws InterruptedException {
+        requestLogBuffer.stop();
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        
+
         // Check if request should be logged
         if (shouldLog(request)) {
             doFilterWithLogging(request, response, filterChain);
@@ -57,149 +80,189 @@ public class RequestResponseLoggingFilter extends OncePerRequestFilter {
             filterChain.doFilter(request, response);
         }
     }
-    
+
+    /**
+     * Run async dispatches through the filter too, so requests that finish asynchronously
+     * (such as a StreamingResponseBody) are logged once their body has been written
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
     /**
      * Filter with request/response logging
+     * The request is logged when its last dispatch completes; while async processing is
+     * still running, the logging state is kept on the request for the async dispatch.
      */
     private void doFilterWithLogging(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        
-        // Generate or get request ID
-        String requestId = request.getHeader(REQUEST_ID_HEADER);
-        if (requestId == null || requestId.isEmpty()) {
-            requestId = UUID.randomUUID().toString();
+
+        LoggedRequest logged = isAsyncDispatch(request) ? (LoggedRequest) request.getAttribute(LOGGED_REQUEST_ATTRIBUTE) : null;
+        if (logged == null) {
+            logged = startLogging(request, response);
         }
-        
+
         // Add request ID to MDC for logging
-        MDC.put(REQUEST_ID_MDC, requestId);
-        
-        // Wrap request and response for content caching
-        ContentCachingRequestWrapper requestWrapper = new ContentCachingRequestWrapper(request);
-        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
-        
-        // Add request ID to response headers
-        responseWrapper.setHeader(REQUEST_ID_HEADER, requestId);
-        
+        MDC.put(REQUEST_ID_MDC, logged.requestId);
+
         try {
-            // Log request
-            logRequest(requestWrapper, requestId);
-            
-            // Process request
-            filterChain.doFilter(requestWrapper, responseWrapper);
-            
-            // Log response
-            logResponse(responseWrapper, requestId);
+            filterChain.doFilter(logged.request, logged.response);
         } finally {
-            // Copy content to the original response
-            responseWrapper.copyBodyToResponse();
-            
+            if (request.isAsyncStarted()) {
+                request.setAttribute(LOGGED_REQUEST_ATTRIBUTE, logged);
+            } else {
+                publish(logged);
+            }
             // Remove request ID from MDC
             MDC.remove(REQUEST_ID_MDC);
         }
     }
-    
+
     /**
-     * Log request details
+     * Assign the request ID and, with DEBUG on, wrap request and response to capture a bounded prefix of each body
+     * The response is written through a tee, never buffered in full.
      */
-    private void logRequest(ContentCachingRequestWrapper request, String requestId) {
-        // Log request line
-        logger.info("Request: [{}] {} {} {}", 
-                requestId,
-                request.getMethod(),
-                request.getRequestURI(),
-                request.getProtocol());
-        
-        // Log request headers
-        Map<String, String> headers = getHeaders(request);
-        logger.debug("Request headers: [{}] {}", requestId, headers);
-        
-        // Log request parameters
-        Map<String, String[]> parameters = request.getParameterMap();
-        if (!parameters.isEmpty()) {
-            logger.debug("Request parameters: [{}] {}", requestId, parameters);
+    private LoggedRequest startLogging(HttpServletRequest request, HttpServletResponse response) {
+        long start = System.nanoTime();
+
+        // Generate or get request ID
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || requestId.isEmpty()) {
+            requestId = REQUEST_ID_PREFIX + Long.toString(requestSequence.incrementAndGet(), 36);
+        }
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+
+        if (logger.isDebugEnabled()) {
+            return new LoggedRequest(requestId, start,
+                    new ContentCachingRequestWrapper(request, MAX_CONTENT_LENGTH),
+                    new TeeResponseWrapper(response, MAX_CONTENT_LENGTH));
         }
+        return new LoggedRequest(requestId, start, request, response);
     }
-    
+
     /**
-     * Log response details
+     * Hand the completed request to the background writer
      */
-    private void logResponse(ContentCachingResponseWrapper response, String requestId) {
-        // Log response status
-        logger.info("Response: [{}] {}", requestId, response.getStatus());
-        
-        // Log response headers
-        Map<String, String> headers = getHeaders(response);
-        logger.debug("Response headers: [{}] {}", requestId, headers);
-        
-        // Log response content for specific content types
-        String contentType = response.getContentType();
-        if (contentType != null && isLoggableContentType(contentType)) {
-            byte[] content = response.getContentAsByteArray();
-            if (content.length > 0) {
-                String contentAsString = new String(content).substring(0, Math.min(content.length, MAX_CONTENT_LENGTH));
-                if (content.length > MAX_CONTENT_LENGTH) {
-                    contentAsString += "... (truncated)";
-                }
-                logger.debug("Response body: [{}] {}", requestId, contentAsString);
-            }
+    private void publish(LoggedRequest logged) {
+        String detail = null;
+        if (logged.request instanceof ContentCachingRequestWrapper requestWrapper
+                && logged.response instanceof TeeResponseWrapper responseWrapper) {
+            responseWrapper.finish();
+            detail = describe(requestWrapper, responseWrapper, responseWrapper.getContentAsByteArray(),
+                    responseWrapper.isTruncated());
         }
+        publish(logged.requestId, logged.request, logged.response.getStatus(), logged.start, detail);
     }
-    
+
     /**
-     * Get headers as a map, excluding sensitive headers
+     * Hand the completed request to the background writer
      */
-    private Map<String, String> getHeaders(HttpServletRequest request) {
-        Map<String, String> headers = new HashMap<>();
+    private void publish(String requestId, HttpServletRequest request, int status, long start, String detail) {
+        requestLogBuffer.publish(new RequestLogBuffer.Event(requestId, request.getMethod(), request.getRequestURI(),
+                request.getProtocol(), status, System.nanoTime() - start, detail));
+    }
+
+    /**
+     * Headers, parameters and body prefixes of a request/response pair, for DEBUG logging
+     */
+    private String describe(ContentCachingRequestWrapper request, HttpServletResponse response,
+            byte[] responseBody, boolean responseTruncated) {
+        StringBuilder detail = new StringBuilder(256);
+
+        detail.append("request headers: {");
         Enumeration<String> headerNames = request.getHeaderNames();
-        
         while (headerNames.hasMoreElements()) {
             String headerName = headerNames.nextElement();
-            if (!SENSITIVE_HEADERS.contains(headerName)) {
-                headers.put(headerName, request.getHeader(headerName));
-            } else {
-                headers.put(headerName, "******");
+            appendHeader(detail, headerName, request.getHeader(headerName));
+        }
+        detail.append('}');
+
+        Map<String, String[]> parameters = request.getParameterMap();
+        if (!parameters.isEmpty()) {
+            detail.append(", parameters: {");
+            for (Map.Entry<String, String[]> parameter : parameters.entrySet()) {
+                detail.append(parameter.getKey()).append('=').append(String.join(",", parameter.getValue())).append(' ');
             }
+            detail.append('}');
+        }
+        byte[] requestBody = request.getContentAsByteArray();
+        appendBody(detail, "request body", request.getContentType(), requestBody, requestBody.length >= MAX_CONTENT_LENGTH);
+
+        detail.append(", response headers: {");
+        for (String headerName : response.getHeaderNames()) {
+            appendHeader(detail, headerName, response.getHeader(headerName));
         }
-        
-        return headers;
+        detail.append('}');
+        appendBody(detail, "response body", response.getContentType(), responseBody, responseTruncated);
+
+        return detail.toString();
     }
-    
+
     /**
-     * Get headers as a map, excluding sensitive headers
+     * Append a header, masking sensitive ones
      */
-    private Map<String, String> getHeaders(HttpServletResponse response) {
-        Map<String, String> headers = new HashMap<>();
-        Collection<String> headerNames = response.getHeaderNames();
-        
-        for (String headerName : headerNames) {
-            if (!SENSITIVE_HEADERS.contains(headerName)) {
-                headers.put(headerName, response.getHeader(headerName));
-            } else {
-                headers.put(headerName, "******");
-            }
+    private void appendHeader(StringBuilder detail, String name, String value) {
+        detail.append(name).append('=');
+        detail.append(SENSITIVE_HEADERS.contains(name.toLowerCase()) ? "******" : value);
+        detail.append(' ');
+    }
+
+    /**
+     * Append at most MAX_CONTENT_LENGTH bytes of a loggable body
+     */
+    private void appendBody(StringBuilder detail, String label, String contentType, byte[] content, boolean truncated) {
+        if (contentType == null || !isLoggableContentType(contentType) || content.length == 0) {
+            return;
+        }
+        int length = Math.min(content.length, MAX_CONTENT_LENGTH);
+        detail.append(", ").append(label).append(": ").append(new String(content, 0, length, StandardCharsets.UTF_8));
+        if (truncated) {
+            detail.append("... (truncated)");
         }
-        
-        return headers;
     }
-    
+
     /**
      * Check if the content type should be logged
      */
     private boolean isLoggableContentType(String contentType) {
-        return LOGGABLE_CONTENT_TYPES.stream()
-                .anyMatch(contentType.toLowerCase()::contains);
+        String lowerCase = contentType.toLowerCase();
+        for (String loggable : LOGGABLE_CONTENT_TYPES) {
+            if (lowerCase.contains(loggable)) {
+                return true;
+            }
+        }
+        return false;
     }
-    
+
     /**
      * Determine if the request should be logged
      */
     private boolean shouldLog(HttpServletRequest request) {
         // Skip logging for static resources
         String path = request.getRequestURI();
-        return !path.contains("/static/") && 
-               !path.contains("/css/") && 
-               !path.contains("/js/") && 
+        return !path.contains("/static/") &&
+               !path.contains("/css/") &&
+               !path.contains("/js/") &&
                !path.contains("/images/") &&
                !path.contains("/fonts/");
     }
+
+    /**
+     * Logging state of one request, carried from the initial dispatch to the async dispatch
+     */
+    private static final class LoggedRequest {
+
+        private final String requestId;
+        private final long start;
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+
+        LoggedRequest(String requestId, long start, HttpServletRequest request, HttpServletResponse response) {
+            this.requestId = requestId;
+            this.start = start;
+            this.request = request;
+            this.response = response;
+        }
+    }
 }
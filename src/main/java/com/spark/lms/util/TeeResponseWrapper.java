@@ -0,0 +1,158 @@
+package com.spark.lms.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Response wrapper that writes straight through to the client while keeping a copy
+ * of only the first bytes of the body for logging
+ * Unlike ContentCachingResponseWrapper the body is never buffered in full
+ */
+public class TeeResponseWrapper extends HttpServletResponseWrapper {
+
+    private final int limit;
+    private final ByteArrayOutputStream copy;
+
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    // Whether the body was longer than the captured prefix
+    private boolean truncated = false;
+
+    public TeeResponseWrapper(HttpServletResponse response, int limit) {
+        super(response);
+        this.limit = limit;
+        this.copy = new ByteArrayOutputStream(Math.min(limit, 1024));
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called on this response");
+        }
+        return teeStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called on this response");
+            }
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.ISO_8859_1;
+            writer = new PrintWriter(new OutputStreamWriter(teeStream(), charset));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    /**
+     * Push anything still buffered in the writer to the client
+     * Must be called once the filter chain has completed
+     */
+    public void finish() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    /**
+     * The captured body prefix, at most limit bytes
+     */
+    public byte[] getContentAsByteArray() {
+        return copy.toByteArray();
+    }
+
+    /**
+     * Whether the body was longer than the captured prefix
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    private ServletOutputStream teeStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new TeeOutputStream(getResponse().getOutputStream());
+        }
+        return outputStream;
+    }
+
+    private void capture(int b) {
+        if (copy.size() < limit) {
+            copy.write(b);
+        } else {
+            truncated = true;
+        }
+    }
+
+    private void capture(byte[] bytes, int offset, int length) {
+        int remaining = limit - copy.size();
+        if (length > remaining) {
+            truncated = true;
+        }
+        if (remaining > 0) {
+            copy.write(bytes, offset, Math.min(length, remaining));
+        }
+    }
+
+    /**
+     * Output stream writing to the real response and to the bounded copy
+     */
+    private class TeeOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        TeeOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            capture(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            capture(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.spark.lms.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Transaction hooks shared by the in-memory structures that mirror the database
+ * (availability index, copy counters, dashboard counters)
+ */
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    /**
+     * Run an update once the surrounding transaction commits, or immediately outside one
+     * Nothing runs if the transaction rolls back.
+     *
+     * @param update the in-memory update
+     */
+    public static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+}
@@ -6,6 +6,26 @@ CREATE SEQUENCE IF NOT EXISTS category_id_seq START WITH 1;
 CREATE SEQUENCE IF NOT EXISTS issue_id_seq START WITH 1;
 CREATE SEQUENCE IF NOT EXISTS issued_book_id_seq START WITH 1;
 
+-- Partial index on open loans; serves the unreturned-issues EXISTS query
+CREATE INDEX IF NOT EXISTS idx_issued_book_unreturned ON issued_book (issue_id) WHERE returned = 0;
+
+-- Full-text search vector over title, authors, publisher and ISBN (hyphens stripped), with its GIN index
+ALTER TABLE book ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(authors, '')), 'B') ||
+    setweight(to_tsvector('simple', coalesce(publisher, '')), 'C') ||
+    setweight(to_tsvector('simple', replace(coalesce(isbn, ''), '-', '')), 'A')
+) STORED;
+CREATE INDEX IF NOT EXISTS idx_book_search_vector ON book USING GIN (search_vector);
+
+-- Copy counts for books created before multi-copy inventory: one copy unless set, minus the copies on loan
+UPDATE book SET num_of_copies = 1 WHERE num_of_copies IS NULL OR num_of_copies < 1;
+UPDATE book b SET available_copies = GREATEST(b.num_of_copies -
+    (SELECT COUNT(*) FROM issued_book ib WHERE ib.book_id = b.id AND ib.returned = 0), 0)
+WHERE b.available_copies IS NULL;
+UPDATE book SET status = CASE WHEN available_copies > 0 THEN 1 ELSE 2 END
+WHERE status <> CASE WHEN available_copies > 0 THEN 1 ELSE 2 END;
+
 -- Insert default admin and librarian users if they don't exist
 INSERT INTO users (username, password, active, role, display_name, created_date)
 SELECT 'admin', '$2a$10$9v8ZJU0.gBgRzAx8cAEyl.0WrAwZ4p1U76ElbaruldaMp6Xnf8HZe', true, 'ADMIN', 'Mr. Admin', NOW()
@@ -41,25 +41,31 @@ $(document).ready(function() {
 	});
 	
 	
-	function getBooksByCategory(value) {
-		console.log("Getting books for category ID:", value);
-		$.ajax({
-			url: '/rest/book/' + value + '/available',
+	// Available books matching the typed title word, tag or ISBN prefix, from the in-memory suggestion trie,
+	// narrowed to the selected category by the availability index
+	var suggestTimer = null;
+	var suggestRequest = null;
+	function suggestBooks(value) {
+		if( suggestRequest ) {
+			suggestRequest.abort();
+		}
+		var params = { q: value, available: true, limit: 20 };
+		var categoryId = $('#categorySel').val();
+		if( categoryId ) {
+			params.categoryId = categoryId;
+		}
+		suggestRequest = $.ajax({
+			url: '/rest/book/suggest',
 			type: 'GET',
+			data: params,
 			success: function(data) {
-				console.log("Books received:", data);
-				if(data) {
-					populateBooksList(data);
-				} else {
-					console.log("No books received");
-					populateBooksList([]);
-				}
+				populateBooksList(data ? data : []);
 			},
 			error: function(xhr, status, error) {
-				console.error("Error fetching books:", error);
-				console.error("Status:", status);
-				console.error("Response:", xhr.responseText);
-				populateBooksList([]);
+				if( status != 'abort' ) {
+					console.error("Error fetching book suggestions:", error);
+					populateBooksList([]);
+				}
 			}
 		});
 	}
@@ -70,19 +76,22 @@ $(document).ready(function() {
 		     $('#booksSel').append($("<option></option>")
 		                    .attr("value",v.id).text(v.title)
 		                    .attr("data-authors", v.authors)
-		                    .attr("data-tag", v.tag)
-		                    .attr("data-publisher", v.publisher));
+		                    .attr("data-tag", v.tag));
 		});
 	}
 	
-	$('#categorySel').on('change', function(){
-		var value = $(this).val();
-		if( value ) {
-			getBooksByCategory( value );
+	$('#bookSearch').on('input', onBookSearchChange);
+	$('#categorySel').on('change', onBookSearchChange);
+	
+	function onBookSearchChange() {
+		var value = $.trim( $('#bookSearch').val() );
+		clearTimeout( suggestTimer );
+		if( value.length >= 2 ) {
+			suggestTimer = setTimeout(function() { suggestBooks( value ); }, 250);
 		} else {
 			populateBooksList( [] );
 		}
-	});
+	}
 	
 	
 	$('#addBookBtn').on('click', function() {
@@ -122,6 +131,11 @@ $(document).ready(function() {
 				if( data=='success' ) {
 					window.location = '/issue/new';
 				}
+			}).fail(function (xhr){
+				// 409 when another librarian issued one of the books first
+				var message = xhr.responseJSON && xhr.responseJSON.message ? xhr.responseJSON.message : 'Could not issue the books, please try again.';
+				$('.errors-modal').find('.modal-body').text( message );
+				$('.errors-modal').modal('show');
 			});
 		}
 	});
@@ -0,0 +1,78 @@
+package com.spark.lms.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+public class ReadReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+    
+    @Mock
+    private DataSource replica;
+    
+    @Mock
+    private Connection primaryConnection;
+    
+    @Mock
+    private Connection replicaConnection;
+    
+    private ReadReplicaRoutingDataSource dataSource;
+    
+    @BeforeEach
+    public void setup() {
+        dataSource = new ReadReplicaRoutingDataSource(primary, replica, 60000);
+    }
+    
+    @AfterEach
+    public void cleanup() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+    
+    @Test
+    public void testReadWriteGoesToPrimary() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        
+        assertSame(primaryConnection, dataSource.getConnection());
+        verify(replica, never()).getConnection();
+    }
+    
+    @Test
+    public void testReadOnlyGoesToReplica() throws SQLException {
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        
+        assertSame(replicaConnection, dataSource.getConnection());
+        verify(primary, never()).getConnection();
+    }
+    
+    @Test
+    public void testReadOnlyFallsBackToPrimaryWhenReplicaUnavailable() throws SQLException {
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        
+        assertSame(primaryConnection, dataSource.getConnection());
+        
+        // The replica is skipped until the retry delay has passed
+        assertSame(primaryConnection, dataSource.getConnection());
+        verify(replica, times(1)).getConnection();
+    }
+}
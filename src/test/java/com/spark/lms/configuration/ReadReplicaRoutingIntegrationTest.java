@@ -0,0 +1,151 @@
+package com.spark.lms.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.spark.lms.model.Book;
+import com.spark.lms.model.Category;
+import com.spark.lms.service.AvailabilityIndex;
+import com.spark.lms.service.BookSearchIndex;
+import com.spark.lms.service.BookService;
+import com.spark.lms.service.BookSuggestionTrie;
+import com.spark.lms.service.CategoryService;
+import com.spark.lms.service.CopyCounter;
+import com.spark.lms.service.DashboardStatsCache;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Read-replica routing end to end, with two in-memory H2 databases as primary and replica
+ * The schema is created on the primary by Hibernate and copied to the replica; each database
+ * then gets its own rows, so the results show which one a service call read from.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "libtrack.datasource.replica.jdbc-url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "libtrack.datasource.replica.username=sa",
+        "libtrack.datasource.replica.password=",
+        "libtrack.datasource.replica-retry-delay-ms=60000",
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ ReadReplicaConfiguration.class, BookService.class, BookSearchIndex.class, BookSuggestionTrie.class,
+        AvailabilityIndex.class, CopyCounter.class, CategoryService.class, DashboardStatsCache.class })
+public class ReadReplicaRoutingIntegrationTest {
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private DashboardStatsCache dashboardStatsCache;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    public void setup() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+
+        List<String> schema = primary.queryForList("SCRIPT NODATA", String.class).stream()
+                .filter(statement -> statement.startsWith("CREATE") && !statement.startsWith("CREATE USER"))
+                .collect(Collectors.toList());
+        replica.execute("DROP ALL OBJECTS");
+        for (String statement : schema) {
+            replica.execute(statement);
+        }
+
+        seed(primary, "Primary copy");
+        seed(replica, "Replica copy", "Replica only");
+    }
+
+    @AfterEach
+    public void cleanup() {
+        primary.update("DELETE FROM book");
+        primary.update("DELETE FROM category");
+    }
+
+    @Test
+    public void testReadOnlyServiceCallReadsReplica() {
+        assertEquals(List.of("Replica copy", "Replica only"), titles(bookService.getAll()));
+    }
+
+    @Test
+    public void testWriteGoesToPrimary() {
+        Category category = new Category();
+        category.setName("Poetry");
+
+        categoryService.addNew(category);
+
+        assertEquals(1, count(primary, "SELECT COUNT(*) FROM category WHERE name = 'Poetry'"));
+        assertEquals(0, count(replica, "SELECT COUNT(*) FROM category WHERE name = 'Poetry'"));
+    }
+
+    @Test
+    public void testDashboardReconcileReadsPrimary() {
+        dashboardStatsCache.reconcile();
+
+        assertEquals(1L, dashboardStatsCache.getTopTiles().get("totalBooks"));
+    }
+
+    @Test
+    @DirtiesContext
+    public void testReadOnlyFallsBackToPrimaryWhenReplicaDown() {
+        replicaDataSource.close();
+
+        assertEquals(List.of("Primary copy"), titles(bookService.getAll()));
+    }
+
+    // Explicit IDs above the identity range, so inserts through JPA do not collide with them
+    private static void seed(JdbcTemplate jdbcTemplate, String... titles) {
+        jdbcTemplate.update("INSERT INTO category (id, name) VALUES (1000, 'Fiction')");
+        long id = 1000;
+        for (String title : titles) {
+            jdbcTemplate.update("INSERT INTO book (id, title, tag, authors, num_of_copies, available_copies, "
+                    + "category_id, status, version) VALUES (?, ?, ?, 'Author', 1, 1, 1000, 1, 0)",
+                    id, title, "T" + id);
+            id++;
+        }
+    }
+
+    private static int count(JdbcTemplate jdbcTemplate, String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+
+    private static List<String> titles(List<Book> books) {
+        return books.stream().map(Book::getTitle).sorted().collect(Collectors.toList());
+    }
+}
@@ -25,6 +25,7 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.spark.lms.common.Constants;
+import com.spark.lms.dto.CursorPage;
 import com.spark.lms.model.Book;
 import com.spark.lms.model.Category;
 import com.spark.lms.service.BookService;
@@ -77,13 +78,13 @@ public class BookControllerTest {
     @WithMockUser(username = "admin", roles = {"ADMIN"})
     public void testListBooks() throws Exception {
         // Arrange
-        when(bookService.getAll()).thenReturn(books);
+        when(bookService.getPage(null, null)).thenReturn(new CursorPage<>(books, null, Constants.DEFAULT_PAGE_SIZE));
         
         // Act & Assert
         mockMvc.perform(get("/book/list"))
             .andExpect(status().isOk())
             .andExpect(view().name("book/list"))
-            .andExpect(model().attributeExists("books"))
+            .andExpect(model().attributeExists("books", "page"))
             .andExpect(model().attribute("books", books));
     }
     
@@ -0,0 +1,73 @@
+package com.spark.lms.controller.rest;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.spark.lms.service.IssueService;
+import com.spark.lms.service.IssuedBookService;
+
+@WebMvcTest(IssueRestController.class)
+public class IssueRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @MockBean
+    private IssueService issueService;
+    
+    @MockBean
+    private IssuedBookService issuedBookService;
+    
+    @BeforeEach
+    public void setup() {
+        when(issueService.exists(7L)).thenReturn(true);
+    }
+    
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    public void testReturnSelectedParsesIds() throws Exception {
+        mockMvc.perform(post("/rest/issue/7/return").with(csrf()).param("ids", "3, 5,"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("successful"));
+        
+        verify(issuedBookService).returnBooks(7L, Set.of(3L, 5L));
+    }
+    
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    public void testReturnSelectedWithNoIdsReturnsNothing() throws Exception {
+        mockMvc.perform(post("/rest/issue/7/return").with(csrf()).param("ids", ""))
+                .andExpect(status().isOk())
+                .andExpect(content().string("successful"));
+        
+        verify(issuedBookService).returnBooks(7L, Collections.emptySet());
+    }
+    
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    public void testReturnSelectedRejectsInvalidId() throws Exception {
+        mockMvc.perform(post("/rest/issue/7/return").with(csrf()).param("ids", "3,x"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("invalid number format"));
+        
+        verify(issuedBookService, never()).returnBooks(eq(7L), any());
+    }
+}
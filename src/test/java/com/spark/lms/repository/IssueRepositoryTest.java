@@ -0,0 +1,88 @@
+package com.spark.lms.repository;
+
+import static com.spark.lms.support.QueryCountAssertions.assertSelectCount;
+import static com.spark.lms.support.QueryCountAssertions.assertStatementCount;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.spark.lms.common.Constants;
+import com.spark.lms.model.Issue;
+import com.spark.lms.model.IssuedBook;
+import com.spark.lms.support.LibraryFixture;
+import com.spark.lms.support.QueryCountAssertions;
+import com.spark.lms.support.StatementCountTest;
+
+@StatementCountTest
+public class IssueRepositoryTest {
+
+    private static final int ISSUES = 3;
+    private static final int BOOKS_PER_ISSUE = 2;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private IssueRepository issueRepository;
+    
+    private LibraryFixture fixture;
+    
+    @BeforeEach
+    public void setup() {
+        fixture = LibraryFixture.seed(entityManager, ISSUES, BOOKS_PER_ISSUE, 0);
+        QueryCountAssertions.reset();
+    }
+    
+    @Test
+    public void testFindByMemberFetchesGraphInOneStatement() {
+        List<Issue> issues = issueRepository.findByMember(fixture.getMember());
+        
+        assertEquals(ISSUES, issues.size());
+        assertEquals(ISSUES * BOOKS_PER_ISSUE, touchBooks(issues));
+        assertStatementCount(1);
+    }
+    
+    @Test
+    public void testFindUnreturnedFetchesGraphInOneStatement() {
+        List<Issue> issues = issueRepository.findByIssuedBookReturned(Constants.BOOK_NOT_RETURNED);
+        
+        assertEquals(ISSUES, issues.size());
+        for (Issue issue : issues) {
+            assertEquals("Test", issue.getMember().getFirstName());
+        }
+        assertEquals(ISSUES * BOOKS_PER_ISSUE, touchBooks(issues));
+        assertStatementCount(1);
+    }
+    
+    @Test
+    public void testFindUnreturnedPageFetchesGraphOnce() {
+        Page<Long> ids = issueRepository.findIdsByIssuedBookReturned(Constants.BOOK_NOT_RETURNED, PageRequest.of(0, 2));
+        List<Issue> issues = issueRepository.findListGraphByIdIn(ids.getContent());
+        
+        assertEquals(ISSUES, ids.getTotalElements());
+        assertEquals(2, issues.size());
+        touchBooks(issues);
+        // ID page, count and graph
+        assertSelectCount(3);
+        assertStatementCount(3);
+    }
+    
+    private int touchBooks(List<Issue> issues) {
+        int count = 0;
+        for (Issue issue : issues) {
+            for (IssuedBook issuedBook : issue.getIssuedBooks()) {
+                if (issuedBook.getBook().getTitle() != null) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,84 @@
+package com.spark.lms.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.spark.lms.common.Constants;
+import com.spark.lms.model.Book;
+import com.spark.lms.model.Category;
+
+public class AvailabilityIndexTest {
+
+    private AvailabilityIndex index;
+    
+    @BeforeEach
+    public void setup() {
+        List<Book> books = new ArrayList<>();
+        books.add(book(1L, 10L, Constants.BOOK_STATUS_AVAILABLE));
+        books.add(book(2L, 10L, Constants.BOOK_STATUS_ISSUED));
+        books.add(book(70L, 10L, Constants.BOOK_STATUS_AVAILABLE));
+        books.add(book(3L, 20L, Constants.BOOK_STATUS_AVAILABLE));
+        
+        index = new AvailabilityIndex();
+        index.rebuild(books);
+    }
+    
+    @Test
+    public void testCountsAndIds() {
+        assertEquals(2, index.countAvailable(10L));
+        assertEquals(Arrays.asList(1L, 70L), index.availableIds(10L));
+        assertEquals(1, index.countAvailable(20L));
+        assertEquals(0, index.countAvailable(30L));
+        assertTrue(index.availableIds(30L).isEmpty());
+    }
+    
+    @Test
+    public void testCheckoutAndReturn() {
+        index.updateStatus(Arrays.asList(1L, 70L), Constants.BOOK_STATUS_ISSUED);
+        assertEquals(0, index.countAvailable(10L));
+        assertFalse(index.isAvailable(1L));
+        
+        index.updateStatus(Arrays.asList(1L, 2L), Constants.BOOK_STATUS_AVAILABLE);
+        assertEquals(Arrays.asList(1L, 2L), index.availableIds(10L));
+        assertTrue(index.isAvailable(2L));
+    }
+    
+    @Test
+    public void testPutMovesBookAndRemove() {
+        index.put(book(1L, 20L, Constants.BOOK_STATUS_AVAILABLE));
+        assertEquals(Arrays.asList(70L), index.availableIds(10L));
+        assertEquals(Arrays.asList(1L, 3L), index.availableIds(20L));
+        
+        index.remove(3L);
+        assertEquals(1, index.countAvailable(20L));
+        assertFalse(index.isAvailable(3L));
+    }
+    
+    @Test
+    public void testCategoryMembership() {
+        assertTrue(index.isAvailableIn(1L, 10L));
+        assertFalse(index.isAvailableIn(2L, 10L));
+        assertFalse(index.isAvailableIn(3L, 10L));
+        assertFalse(index.isAvailableIn(99L, 10L));
+        assertTrue(index.isInCategory(2L, 10L));
+        assertFalse(index.isInCategory(2L, 20L));
+    }
+    
+    private Book book(Long id, Long categoryId, Integer status) {
+        Category category = new Category();
+        category.setId(categoryId);
+        Book book = new Book();
+        book.setId(id);
+        book.setCategory(category);
+        book.setStatus(status);
+        return book;
+    }
+}
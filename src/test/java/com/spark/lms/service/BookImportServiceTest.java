@@ -0,0 +1,185 @@
+package com.spark.lms.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.spark.lms.dto.BookImportProgress;
+import com.spark.lms.exception.BadRequestException;
+import com.spark.lms.model.Category;
+import com.spark.lms.repository.BookRepository;
+import com.spark.lms.repository.CategoryRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@ExtendWith(MockitoExtension.class)
+public class BookImportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private BookService bookService;
+
+    @Mock
+    private DashboardStatsCache dashboardStatsCache;
+
+    @InjectMocks
+    private BookImportService bookImportService;
+
+    private final List<List<Object[]>> batches = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        ReflectionTestUtils.setField(bookImportService, "chunkSize", 2);
+    }
+
+    @Test
+    public void testImportInChunks() throws IOException {
+        // Arrange
+        Category fiction = new Category();
+        fiction.setId(7L);
+        fiction.setName("Fiction");
+        fiction.setShortName("FIC");
+        when(categoryRepository.findAll()).thenReturn(Arrays.asList(fiction));
+        when(bookRepository.findAllTags()).thenReturn(Arrays.asList("OLD1"));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            batches.add(new ArrayList<>(rows));
+            int[] counts = new int[rows.size()];
+            Arrays.fill(counts, 1);
+            return counts;
+        });
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(mock(Cache.class));
+
+        String csv = "category,tag,title,authors,num_of_copies\n"
+                + "Fiction,T1,\"Dune, Part One\",Herbert,3\n"
+                + "fic,T2,Emma,Austen,\n"
+                + "Fiction,OLD1,Old Book,Someone,1\n"
+                + "Poetry,T3,Odes,Keats,1\n"
+                + "\n"
+                + "7,T4,Ulysses,Joyce,2\n"
+                + "Fiction,T4,Ulysses Again,Joyce,1\n";
+        List<BookImportProgress> reports = new ArrayList<>();
+
+        // Act
+        BookImportProgress result = bookImportService.importCsv(new StringReader(csv), reports::add);
+
+        // Assert
+        assertEquals(6, result.rows());
+        assertEquals(3, result.imported());
+        assertEquals(3, result.skipped());
+        assertTrue(result.done());
+        assertNull(result.failure());
+        assertEquals(3, result.errors().size());
+        assertTrue(result.errors().get(0).startsWith("Line 4: tag 'OLD1'"));
+        assertTrue(result.errors().get(1).startsWith("Line 5: unknown category"));
+
+        assertEquals(2, batches.size());
+        assertEquals(2, batches.get(0).size());
+        assertEquals("Dune, Part One", batches.get(0).get(0)[1]);
+        assertEquals(3, batches.get(0).get(0)[6]);
+        assertEquals(1, batches.get(0).get(1)[6]);
+        assertEquals(7L, batches.get(1).get(0)[8]);
+
+        assertEquals(2, reports.size());
+        assertFalse(reports.get(0).done());
+        verify(bookService, times(1)).buildSearchIndex();
+        verify(dashboardStatsCache, times(1)).reconcile();
+    }
+
+    @Test
+    public void testFailedChunkStillRefreshesCaches() throws IOException {
+        // Arrange
+        Category fiction = new Category();
+        fiction.setId(7L);
+        fiction.setName("Fiction");
+        when(categoryRepository.findAll()).thenReturn(Arrays.asList(fiction));
+        when(bookRepository.findAllTags()).thenReturn(new ArrayList<>());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenReturn(new int[] { 1, 1 })
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"));
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(mock(Cache.class));
+
+        String csv = "category,tag,title,authors\n"
+                + "Fiction,T1,Dune,Herbert\n"
+                + "Fiction,T2,Emma,Austen\n"
+                + "Fiction,T3,Odes,Keats\n"
+                + "Fiction,T4,Ulysses,Joyce\n"
+                + "Fiction,T5,Beloved,Morrison\n";
+        List<BookImportProgress> reports = new ArrayList<>();
+
+        // Act
+        BookImportProgress result = bookImportService.importCsv(new StringReader(csv), reports::add);
+
+        // Assert
+        assertEquals(2, result.imported());
+        assertTrue(result.done());
+        assertTrue(result.failure().startsWith("Lines 4-5 not imported: duplicate key"));
+        assertEquals(result, reports.get(reports.size() - 1));
+        verify(bookService, times(1)).buildSearchIndex();
+        verify(dashboardStatsCache, times(1)).reconcile();
+    }
+
+    @Test
+    public void testParseErrorReportsLine() throws IOException {
+        when(categoryRepository.findAll()).thenReturn(new ArrayList<>());
+        when(bookRepository.findAllTags()).thenReturn(new ArrayList<>());
+
+        BookImportProgress result = bookImportService.importCsv(
+                new StringReader("category,tag,title,authors\n\"Fiction,T1,Dune,Herbert\n"), progress -> {});
+
+        assertEquals(0, result.imported());
+        assertTrue(result.failure().startsWith("Line 2: Unterminated quoted field"));
+        verify(bookService, times(0)).buildSearchIndex();
+    }
+
+    @Test
+    public void testMissingRequiredColumn() {
+        assertThrows(BadRequestException.class,
+                () -> bookImportService.importCsv(new StringReader("tag,title\nT1,Dune\n"), progress -> {}));
+    }
+}
@@ -0,0 +1,116 @@
+package com.spark.lms.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.spark.lms.common.Constants;
+import com.spark.lms.model.Book;
+
+public class BookSearchIndexTest {
+
+    private BookSearchIndex index;
+    
+    @BeforeEach
+    public void setup() {
+        List<Book> books = new ArrayList<>();
+        books.add(book(1L, "Effective Java", "Joshua Bloch", "978-0134685991"));
+        books.add(book(2L, "Java Concurrency in Practice", "Brian Goetz", "978-0321349606"));
+        books.add(book(3L, "Clean Code", "Robert C. Martin", "978-0132350884"));
+        
+        index = new BookSearchIndex();
+        index.rebuild(books);
+    }
+    
+    @Test
+    public void testSearchByToken() {
+        List<Book> result = index.search("Java");
+        
+        assertEquals(2, result.size());
+        assertEquals(1L, result.get(0).getId());
+        assertEquals(2L, result.get(1).getId());
+    }
+    
+    @Test
+    public void testSearchByPartialWord() {
+        List<Book> result = index.search("urren");
+        
+        assertEquals(1, result.size());
+        assertEquals(2L, result.get(0).getId());
+    }
+    
+    @Test
+    public void testSearchByAuthor() {
+        List<Book> result = index.search("bloch");
+        
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).getId());
+    }
+    
+    @Test
+    public void testSearchByIsbn() {
+        assertEquals(3L, index.search("9780132350884").get(0).getId());
+        assertEquals(3L, index.search("978-0132350884").get(0).getId());
+    }
+    
+    @Test
+    public void testIndexUpdateAndRemove() {
+        index.index(book(3L, "Clean Architecture", "Robert C. Martin", "978-0134494166"));
+        assertTrue(index.search("Clean Code").isEmpty());
+        assertEquals(1, index.search("architecture").size());
+        
+        index.remove(3L);
+        assertTrue(index.search("martin").isEmpty());
+    }
+    
+    @Test
+    public void testResultsAreDetachedCopies() {
+        Book first = index.search("clean").get(0);
+        first.setTitle("Changed");
+        first.setStatus(Constants.BOOK_STATUS_ISSUED);
+        
+        Book second = index.search("clean").get(0);
+        assertNotSame(first, second);
+        assertEquals("Clean Code", second.getTitle());
+        assertEquals(Constants.BOOK_STATUS_AVAILABLE, second.getStatus());
+    }
+    
+    @Test
+    public void testUpdateStatusLeavesEarlierResultsAlone() {
+        Book before = index.search("clean").get(0);
+        
+        index.updateStatus(Arrays.asList(3L), Constants.BOOK_STATUS_ISSUED);
+        
+        assertEquals(Constants.BOOK_STATUS_AVAILABLE, before.getStatus());
+        assertEquals(Constants.BOOK_STATUS_ISSUED, index.search("clean").get(0).getStatus());
+    }
+    
+    @Test
+    public void testUpdateCopiesTracksCopiesAndVersion() {
+        Book before = index.search("clean").get(0);
+        
+        index.updateCopies(Map.of(3L, 4));
+        
+        Book after = index.search("clean").get(0);
+        assertEquals(4, after.getAvailableCopies());
+        assertEquals(before.getVersion() + 1, after.getVersion());
+    }
+    
+    private Book book(Long id, String title, String authors, String isbn) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthors(authors);
+        book.setIsbn(isbn);
+        book.setStatus(Constants.BOOK_STATUS_AVAILABLE);
+        return book;
+    }
+}
@@ -3,13 +3,18 @@ package com.spark.lms.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -19,9 +24,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import com.spark.lms.common.Constants;
+import com.spark.lms.dto.BookCopies;
+import com.spark.lms.dto.CursorPage;
+import com.spark.lms.exception.BookUnavailableException;
 import com.spark.lms.model.Book;
 import com.spark.lms.model.Category;
 import com.spark.lms.repository.BookRepository;
@@ -32,6 +42,21 @@ public class BookServiceTest {
     @Mock
     private BookRepository bookRepository;
     
+    @Spy
+    private BookSearchIndex bookSearchIndex = new BookSearchIndex();
+    
+    @Spy
+    private BookSuggestionTrie bookSuggestionTrie = new BookSuggestionTrie();
+    
+    @Spy
+    private AvailabilityIndex availabilityIndex = new AvailabilityIndex();
+    
+    @Spy
+    private CopyCounter copyCounter = new CopyCounter();
+    
+    @Mock
+    private DashboardStatsCache dashboardStatsCache;
+    
     @InjectMocks
     private BookService bookService;
     
@@ -107,12 +132,20 @@ public class BookServiceTest {
         assertNotNull(result);
         assertEquals("Test Book", result.getTitle());
         assertEquals(Constants.BOOK_STATUS_AVAILABLE, result.getStatus());
+        assertEquals(1, result.getNumOfCopies());
+        assertEquals(1, result.getAvailableCopies());
         assertNotNull(result.getCreatedDate());
     }
     
     @Test
     public void testSaveBook() {
         // Arrange
+        Book current = new Book();
+        current.setId(1L);
+        current.setNumOfCopies(3);
+        current.setAvailableCopies(1);
+        testBook.setNumOfCopies(5);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(current));
         when(bookRepository.save(any(Book.class))).thenReturn(testBook);
         
         // Act
@@ -121,6 +154,27 @@ public class BookServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals("Test Book", result.getTitle());
+        assertEquals(3, result.getAvailableCopies());
+        verify(dashboardStatsCache, times(1)).copiesAdded(2);
+    }
+    
+    @Test
+    public void testSaveBookKeepsIssuedCopies() {
+        // Arrange
+        Book current = new Book();
+        current.setId(1L);
+        current.setNumOfCopies(3);
+        current.setAvailableCopies(1);
+        testBook.setNumOfCopies(1);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(current));
+        when(bookRepository.save(any(Book.class))).thenReturn(testBook);
+        
+        // Act
+        Book result = bookService.save(testBook);
+        
+        // Assert
+        assertEquals(0, result.getAvailableCopies());
+        assertEquals(Constants.BOOK_STATUS_ISSUED, result.getStatus());
     }
     
     @Test
@@ -147,4 +201,108 @@ public class BookServiceTest {
         assertEquals(1, result.size());
         assertEquals("Test Book", result.get(0).getTitle());
     }
+    
+    @Test
+    public void testGetPageWithNextCursor() {
+        // Arrange
+        List<Book> books = new ArrayList<>();
+        for (long k = 11; k <= 13; k++) {
+            Book book = new Book();
+            book.setId(k);
+            books.add(book);
+        }
+        when(bookRepository.findPageAfter(10L, PageRequest.of(0, 3))).thenReturn(books);
+        
+        // Act
+        CursorPage<Book> result = bookService.getPage(10L, 2);
+        
+        // Assert
+        assertEquals(2, result.getItems().size());
+        assertEquals(12L, result.getNextCursor());
+        assertTrue(result.isHasNext());
+    }
+    
+    @Test
+    public void testFullTextSearchUsesPrefixTerms() {
+        // Arrange
+        List<Book> books = new ArrayList<>();
+        books.add(testBook);
+        when(bookRepository.searchFullText("test:* & boo:* & 9780134685991:*", 10)).thenReturn(books);
+        
+        // Act
+        List<Book> result = bookService.search("Test  Boo! 978-0134685991", 10);
+        
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("Test Book", result.get(0).getTitle());
+    }
+    
+    @Test
+    public void testFullTextSearchIgnoresBlankQuery() {
+        // Act
+        List<Book> result = bookService.search(" & | !", 10);
+        
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(bookRepository, times(0)).searchFullText(any(), anyInt());
+    }
+    
+    @Test
+    public void testClaimForCheckout() {
+        // Arrange
+        List<Long> ids = Arrays.asList(1L, 2L);
+        when(bookRepository.checkOutCopies(any(), eq(Constants.BOOK_STATUS_AVAILABLE), eq(Constants.BOOK_STATUS_ISSUED)))
+                .thenReturn(2);
+        
+        // Act
+        bookService.claimForCheckout(ids);
+        
+        // Assert
+        verify(dashboardStatsCache, times(1)).issuedBooksChanged(2);
+        verify(bookRepository, times(0)).findAllById(any());
+    }
+    
+    @Test
+    public void testClaimForCheckoutConflict() {
+        // Arrange
+        Book otherBook = new Book();
+        otherBook.setId(2L);
+        List<Long> ids = Arrays.asList(1L, 2L);
+        when(bookRepository.checkOutCopies(any(), eq(Constants.BOOK_STATUS_AVAILABLE), eq(Constants.BOOK_STATUS_ISSUED)))
+                .thenReturn(1);
+        when(bookRepository.findAllById(any())).thenReturn(Arrays.asList(testBook, otherBook));
+        
+        // Act & Assert
+        assertThrows(BookUnavailableException.class, () -> bookService.claimForCheckout(ids));
+        verify(dashboardStatsCache, times(0)).issuedBooksChanged(anyInt());
+    }
+    
+    @Test
+    public void testReturnCopies() {
+        // Arrange
+        List<Long> ids = Arrays.asList(1L, 2L);
+        when(bookRepository.returnCopies(ids, Constants.BOOK_STATUS_AVAILABLE)).thenReturn(2);
+        
+        // Act
+        bookService.returnCopies(ids);
+        
+        // Assert
+        verify(dashboardStatsCache, times(1)).issuedBooksChanged(-2);
+    }
+    
+    @Test
+    public void testGetCopiesFromCounter() {
+        // Arrange
+        testBook.setNumOfCopies(30);
+        testBook.setAvailableCopies(12);
+        copyCounter.rebuild(Arrays.asList(testBook));
+        
+        // Act
+        BookCopies copies = bookService.getCopies(1L);
+        
+        // Assert
+        assertEquals(30, copies.total());
+        assertEquals(12, copies.available());
+        verify(bookRepository, times(0)).findById(anyLong());
+    }
 }
@@ -0,0 +1,98 @@
+package com.spark.lms.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.spark.lms.common.Constants;
+import com.spark.lms.dto.BookSuggestion;
+import com.spark.lms.model.Book;
+
+public class BookSuggestionTrieTest {
+
+    private BookSuggestionTrie trie;
+    
+    @BeforeEach
+    public void setup() {
+        List<Book> books = new ArrayList<>();
+        books.add(book(1L, "Effective Java", "EJ-01", "978-0134685991"));
+        books.add(book(2L, "Java Concurrency in Practice", "JCP-01", "978-0321349606"));
+        books.add(book(3L, "Clean Code", "CC-01", "978-0132350884"));
+        
+        trie = new BookSuggestionTrie();
+        trie.rebuild(books);
+    }
+    
+    @Test
+    public void testSuggestByTitlePrefix() {
+        List<BookSuggestion> result = trie.suggest("ja", 10);
+        
+        assertEquals(2, result.size());
+        assertTrue(result.stream().anyMatch(s -> s.id() == 1L));
+        assertTrue(result.stream().anyMatch(s -> s.id() == 2L));
+    }
+    
+    @Test
+    public void testSuggestByLaterTitleWord() {
+        List<BookSuggestion> result = trie.suggest("Conc", 10);
+        
+        assertEquals(1, result.size());
+        assertEquals("Java Concurrency in Practice", result.get(0).title());
+    }
+    
+    @Test
+    public void testSuggestByTagAndIsbn() {
+        assertEquals(3L, trie.suggest("cc-", 10).get(0).id());
+        assertEquals(3L, trie.suggest("9780132", 10).get(0).id());
+        assertEquals(3L, trie.suggest("978-0132", 10).get(0).id());
+    }
+    
+    @Test
+    public void testSuggestRespectsLimit() {
+        assertEquals(1, trie.suggest("j", 1).size());
+        assertTrue(trie.suggest("", 10).isEmpty());
+        assertTrue(trie.suggest("xyz", 10).isEmpty());
+    }
+    
+    @Test
+    public void testIncrementalUpdates() {
+        trie.index(book(3L, "Clean Architecture", "CA-01", "978-0134494166"));
+        assertEquals("Clean Architecture", trie.suggest("clean", 10).get(0).title());
+        assertTrue(trie.suggest("code", 10).isEmpty());
+        
+        trie.updateStatus(Arrays.asList(3L), Constants.BOOK_STATUS_ISSUED);
+        assertEquals(Constants.BOOK_STATUS_ISSUED, trie.suggest("clean", 10).get(0).status());
+        
+        trie.remove(3L);
+        assertTrue(trie.suggest("clean", 10).isEmpty());
+    }
+    
+    @Test
+    public void testSuggestAvailableOnly() {
+        trie.updateStatus(Arrays.asList(1L), Constants.BOOK_STATUS_ISSUED);
+        
+        List<BookSuggestion> result = trie.suggest("java", 1, Constants.BOOK_STATUS_AVAILABLE);
+        
+        assertEquals(1, result.size());
+        assertEquals(2L, result.get(0).id());
+        assertEquals("Author", result.get(0).authors());
+        assertEquals(2, trie.suggest("java", 10).size());
+    }
+    
+    private Book book(Long id, String title, String tag, String isbn) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setTag(tag);
+        book.setIsbn(isbn);
+        book.setAuthors("Author");
+        book.setStatus(Constants.BOOK_STATUS_AVAILABLE);
+        return book;
+    }
+}
@@ -0,0 +1,108 @@
+package com.spark.lms.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.spark.lms.configuration.PasswordEncoderConfig;
+import com.spark.lms.exception.BookUnavailableException;
+import com.spark.lms.support.LibraryFixture;
+import com.spark.lms.support.StatementCountTest;
+
+/**
+ * Two members racing for the last copy of a book, each checkout in its own committed transaction
+ */
+@StatementCountTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ BookService.class, BookSearchIndex.class, BookSuggestionTrie.class, AvailabilityIndex.class,
+        CopyCounter.class, IssueService.class, MemberService.class, UserService.class,
+        DashboardStatsCache.class, PasswordEncoderConfig.class })
+public class CheckoutConcurrencyTest {
+
+    private static final int THREADS = 2;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IssueService issueService;
+
+    private LibraryFixture fixture;
+
+    @BeforeEach
+    public void setup() {
+        // One available book with a single copy, committed so both threads see it
+        fixture = new TransactionTemplate(transactionManager)
+                .execute(status -> LibraryFixture.seed(entityManager, 0, 0, 1));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        for (String table : new String[] { "issued_book", "issue", "book", "member", "category" }) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    public void testLastCopyGoesToOneMember() throws Exception {
+        Long memberId = fixture.getMember().getId();
+        List<Long> bookIds = Arrays.asList(fixture.getAvailableBooks().get(0).getId());
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> checkouts = new ArrayList<>();
+        for (int k = 0; k < THREADS; k++) {
+            checkouts.add(executor.submit(() -> {
+                start.await();
+                return issueService.checkout(memberId, bookIds);
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        int succeeded = 0;
+        int unavailable = 0;
+        for (Future<?> checkout : checkouts) {
+            try {
+                checkout.get();
+                succeeded++;
+            } catch (ExecutionException ex) {
+                assertTrue(ex.getCause() instanceof BookUnavailableException, ex.getCause().toString());
+                unavailable++;
+            }
+        }
+        assertEquals(1, succeeded);
+        assertEquals(1, unavailable);
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT available_copies FROM book WHERE id = ?",
+                Integer.class, bookIds.get(0)));
+        // The losing checkout rolled back its issue and issued_book rows
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM issued_book", Integer.class));
+    }
+}
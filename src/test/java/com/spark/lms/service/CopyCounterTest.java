@@ -0,0 +1,105 @@
+package com.spark.lms.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.spark.lms.model.Book;
+
+public class CopyCounterTest {
+
+    private CopyCounter counter;
+
+    @BeforeEach
+    public void setup() {
+        List<Book> books = new ArrayList<>();
+        books.add(book(1L, 30, 30));
+        books.add(book(2L, 1, 1));
+        books.add(book(3L, 2, 0));
+
+        counter = new CopyCounter();
+        counter.rebuild(books);
+    }
+
+    @Test
+    public void testCounts() {
+        assertTrue(counter.isReady());
+        assertEquals(30, counter.available(1L));
+        assertEquals(30, counter.total(1L));
+        assertEquals(0, counter.available(3L));
+        assertEquals(-1, counter.available(99L));
+    }
+
+    @Test
+    public void testAdjustReportsAvailabilityFlips() {
+        List<Long> flipped = new ArrayList<>();
+        counter.adjust(Arrays.asList(1L, 2L), -1, flipped::addAll);
+        assertEquals(29, counter.available(1L));
+        assertEquals(0, counter.available(2L));
+        assertEquals(Arrays.asList(2L), flipped);
+
+        flipped.clear();
+        counter.adjust(Arrays.asList(1L, 2L, 3L), 1, flipped::addAll);
+        assertEquals(30, counter.available(1L));
+        assertEquals(Arrays.asList(2L, 3L), flipped);
+    }
+
+    @Test
+    public void testAdjustReportsChangedCounts() {
+        Map<Long, Integer> changed = new HashMap<>();
+        counter.adjust(Arrays.asList(1L, 3L), 1, changed::putAll, flipped -> {});
+        
+        // Book 1 already has every copy on the shelf
+        assertEquals(Map.of(3L, 1), changed);
+    }
+
+    @Test
+    public void testAdjustStaysWithinCopies() {
+        counter.adjust(Arrays.asList(1L), 1, flipped -> {});
+        assertEquals(30, counter.available(1L));
+
+        counter.adjust(Arrays.asList(3L), -1, flipped -> {});
+        assertEquals(0, counter.available(3L));
+    }
+
+    @Test
+    public void testPutAndRemove() {
+        counter.put(book(1L, 40, 35));
+        assertEquals(35, counter.available(1L));
+        assertEquals(40, counter.total(1L));
+
+        counter.remove(1L);
+        assertEquals(-1, counter.total(1L));
+    }
+
+    @Test
+    public void testConcurrentCheckoutsOfOneTitle() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int k = 0; k < 30; k++) {
+            executor.submit(() -> counter.adjust(Arrays.asList(1L), -1, flipped -> {}));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(0, counter.available(1L));
+    }
+
+    private Book book(Long id, int copies, int available) {
+        Book book = new Book();
+        book.setId(id);
+        book.setNumOfCopies(copies);
+        book.setAvailableCopies(available);
+        return book;
+    }
+}
@@ -0,0 +1,155 @@
+package com.spark.lms.service;
+
+import static com.spark.lms.support.QueryCountAssertions.assertInsertCount;
+import static com.spark.lms.support.QueryCountAssertions.assertSelectCount;
+import static com.spark.lms.support.QueryCountAssertions.assertStatementCount;
+import static com.spark.lms.support.QueryCountAssertions.assertUpdateCount;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+
+import com.spark.lms.common.Constants;
+import com.spark.lms.configuration.PasswordEncoderConfig;
+import com.spark.lms.dto.CursorPage;
+import com.spark.lms.model.Book;
+import com.spark.lms.model.Issue;
+import com.spark.lms.model.IssuedBook;
+import com.spark.lms.support.LibraryFixture;
+import com.spark.lms.support.QueryCountAssertions;
+import com.spark.lms.support.StatementCountTest;
+
+/**
+ * Baseline SQL statement counts of the hot checkout, return and listing flows
+ * A failure here means a change added queries to one of these paths
+ */
+@StatementCountTest
+@Import({ BookService.class, BookSearchIndex.class, BookSuggestionTrie.class, AvailabilityIndex.class,
+        CopyCounter.class, IssueService.class, IssuedBookService.class, MemberService.class, UserService.class,
+        HomeService.class, DashboardStatsCache.class, PasswordEncoderConfig.class })
+public class HotPathStatementCountTest {
+
+    private static final int ISSUES = 3;
+    private static final int BOOKS_PER_ISSUE = 2;
+    private static final int AVAILABLE = 4;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    
+    @Autowired
+    private BookService bookService;
+    
+    @Autowired
+    private IssueService issueService;
+    
+    @Autowired
+    private IssuedBookService issuedBookService;
+    
+    @Autowired
+    private HomeService homeService;
+    
+    @Autowired
+    private DashboardStatsCache dashboardStatsCache;
+    
+    private LibraryFixture fixture;
+    
+    @BeforeEach
+    public void setup() {
+        fixture = LibraryFixture.seed(entityManager, ISSUES, BOOKS_PER_ISSUE, AVAILABLE);
+        QueryCountAssertions.reset();
+    }
+    
+    @Test
+    public void testCheckout() {
+        List<Long> bookIds = Arrays.asList(fixture.getAvailableBooks().get(0).getId(),
+                fixture.getAvailableBooks().get(1).getId());
+        
+        issueService.checkout(fixture.getMember().getId(), bookIds);
+        
+        // Member; issue insert, issued_book INSERT ... SELECT; one conditional status update claiming the books
+        assertSelectCount(1);
+        assertInsertCount(2);
+        assertUpdateCount(1);
+        assertStatementCount(4);
+    }
+    
+    @Test
+    public void testReturnAll() {
+        Long issueId = fixture.getIssues().get(0).getId();
+        
+        assertTrue(issueService.exists(issueId));
+        int returned = issuedBookService.returnAll(issueId);
+        
+        assertEquals(BOOKS_PER_ISSUE, returned);
+        // Existence check, book IDs; issued_book, book and issue bulk updates
+        assertSelectCount(2);
+        assertUpdateCount(3);
+        assertStatementCount(5);
+    }
+    
+    @Test
+    public void testReturnSelected() {
+        Long issueId = fixture.getIssues().get(0).getId();
+        IssuedBook issuedBook = fixture.getIssuedBooks().get(0);
+        
+        assertTrue(issueService.exists(issueId));
+        int returned = issuedBookService.returnBooks(issueId, Arrays.asList(issuedBook.getId()));
+        
+        assertEquals(1, returned);
+        // Existence check, book IDs; issued_book and book bulk updates
+        assertSelectCount(2);
+        assertUpdateCount(2);
+        assertStatementCount(4);
+    }
+    
+    @Test
+    public void testIssueList() {
+        Page<Issue> issues = issueService.getUnreturned(0, null);
+        for (Issue issue : issues.getContent()) {
+            issue.getMember().getFirstName();
+            issue.getMember().getUser();
+            for (IssuedBook issuedBook : issue.getIssuedBooks()) {
+                issuedBook.getBook().getTitle();
+            }
+        }
+        
+        assertEquals(ISSUES, issues.getNumberOfElements());
+        // ID page (the count is skipped on a short first page) and the issue graph, members' users included
+        assertSelectCount(2);
+        assertStatementCount(2);
+    }
+    
+    @Test
+    public void testBookList() {
+        CursorPage<Book> page = bookService.getPage(null, null);
+        for (Book book : page.getItems()) {
+            book.getCategory().getName();
+        }
+        
+        assertEquals(ISSUES * BOOKS_PER_ISSUE + AVAILABLE, page.getItems().size());
+        assertStatementCount(1);
+    }
+    
+    @Test
+    public void testDashboard() {
+        dashboardStatsCache.reconcile();
+        assertStatementCount(1);
+        
+        QueryCountAssertions.reset();
+        Map<String, Long> tiles = homeService.getTopTilesMap();
+        
+        assertEquals(ISSUES * BOOKS_PER_ISSUE + AVAILABLE, tiles.get("totalBooks"));
+        assertEquals(ISSUES * BOOKS_PER_ISSUE + AVAILABLE, tiles.get("totalCopies"));
+        assertEquals(ISSUES * BOOKS_PER_ISSUE, tiles.get("totalIssuedBooks"));
+        assertStatementCount(0);
+    }
+}
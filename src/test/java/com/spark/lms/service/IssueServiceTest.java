@@ -0,0 +1,96 @@
+package com.spark.lms.service;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.spark.lms.exception.BookUnavailableException;
+import com.spark.lms.model.Issue;
+import com.spark.lms.model.Member;
+import com.spark.lms.repository.IssueRepository;
+import com.spark.lms.repository.IssuedBookRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class IssueServiceTest {
+
+    @Mock
+    private IssueRepository issueRepository;
+
+    @Mock
+    private IssuedBookRepository issuedBookRepository;
+
+    @Mock
+    private MemberService memberService;
+
+    @Mock
+    private BookService bookService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private IssueService issueService;
+
+    private final List<Long> bookIds = Arrays.asList(1L, 2L);
+    private Member member;
+
+    @BeforeEach
+    public void setup() {
+        member = new Member();
+        member.setId(5L);
+    }
+
+    @Test
+    public void testCheckoutRetriesLockConflict() {
+        Issue saved = new Issue();
+        saved.setId(9L);
+        when(memberService.get(5L)).thenReturn(member);
+        when(issueRepository.save(any(Issue.class))).thenReturn(saved);
+        doThrow(new CannotAcquireLockException("deadlock detected")).doNothing()
+                .when(bookService).claimForCheckout(bookIds);
+
+        Issue issue = issueService.checkout(5L, bookIds);
+
+        assertSame(saved, issue);
+        verify(bookService, times(2)).claimForCheckout(bookIds);
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    public void testCheckoutGivesUpAfterMaxAttempts() {
+        when(memberService.get(5L)).thenThrow(new CannotAcquireLockException("lock timeout"));
+
+        assertThrows(CannotAcquireLockException.class, () -> issueService.checkout(5L, bookIds));
+
+        verify(memberService, times(IssueService.CHECKOUT_MAX_ATTEMPTS)).get(5L);
+        verify(transactionManager, times(IssueService.CHECKOUT_MAX_ATTEMPTS)).rollback(any());
+    }
+
+    @Test
+    public void testLostRaceIsNotRetried() {
+        when(memberService.get(5L)).thenReturn(member);
+        when(issueRepository.save(any(Issue.class))).thenReturn(new Issue());
+        doThrow(new BookUnavailableException(bookIds)).when(bookService).claimForCheckout(bookIds);
+
+        assertThrows(BookUnavailableException.class, () -> issueService.checkout(5L, bookIds));
+
+        verify(bookService, times(1)).claimForCheckout(bookIds);
+    }
+}
@@ -0,0 +1,113 @@
+package com.spark.lms.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.spark.lms.model.IssuedBook;
+import com.spark.lms.support.LibraryFixture;
+import com.spark.lms.support.StatementCountTest;
+
+/**
+ * The same issued books returned twice at once, each return in its own committed transaction
+ */
+@StatementCountTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ BookService.class, BookSearchIndex.class, BookSuggestionTrie.class, AvailabilityIndex.class,
+        CopyCounter.class, IssuedBookService.class, DashboardStatsCache.class })
+public class ReturnConcurrencyTest {
+
+    private static final int THREADS = 2;
+    private static final int BOOKS = 2;
+    // Long enough for the second return to block, below the H2 lock timeout
+    private static final long BLOCKED_MILLIS = 300;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IssuedBookService issuedBookService;
+
+    private LibraryFixture fixture;
+
+    @BeforeEach
+    public void setup() {
+        // One open issue of two books, each with a second copy still out, so an extra return is not capped
+        fixture = new TransactionTemplate(transactionManager)
+                .execute(status -> LibraryFixture.seed(entityManager, 1, BOOKS, 0));
+        jdbcTemplate.update("UPDATE book SET num_of_copies = 2");
+    }
+
+    @AfterEach
+    public void cleanup() {
+        for (String table : new String[] { "issued_book", "issue", "book", "member", "category" }) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    public void testRepeatedReturnSelectedPutsCopiesBackOnce() throws Exception {
+        Long issueId = fixture.getIssues().get(0).getId();
+        List<Long> ids = fixture.getIssuedBooks().stream().map(IssuedBook::getId).collect(Collectors.toList());
+        CountDownLatch firstUpdated = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // The first return holds its row locks until the second one is waiting on them
+        Future<Integer> first = executor.submit(() -> new TransactionTemplate(transactionManager).execute(status -> {
+            int returned = issuedBookService.returnBooks(issueId, ids);
+            firstUpdated.countDown();
+            try {
+                commitFirst.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return returned;
+        }));
+        assertTrue(firstUpdated.await(10, TimeUnit.SECONDS));
+        Future<Integer> second = executor.submit(() -> issuedBookService.returnBooks(issueId, ids));
+        Thread.sleep(BLOCKED_MILLIS);
+        commitFirst.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(BOOKS, first.get());
+        assertEquals(0, second.get());
+        assertEquals(BOOKS, jdbcTemplate.queryForObject("SELECT SUM(available_copies) FROM book", Integer.class));
+    }
+
+    @Test
+    public void testReturnAllAfterReturnAllPutsNothingBack() {
+        Long issueId = fixture.getIssues().get(0).getId();
+
+        assertEquals(BOOKS, issuedBookService.returnAll(issueId));
+        assertEquals(0, issuedBookService.returnAll(issueId));
+
+        assertEquals(BOOKS, jdbcTemplate.queryForObject("SELECT SUM(available_copies) FROM book", Integer.class));
+    }
+}
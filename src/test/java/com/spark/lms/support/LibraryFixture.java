@@ -0,0 +1,109 @@
+package com.spark.lms.support;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.spark.lms.common.Constants;
+import com.spark.lms.model.Book;
+import com.spark.lms.model.Category;
+import com.spark.lms.model.Issue;
+import com.spark.lms.model.IssuedBook;
+import com.spark.lms.model.Member;
+
+/**
+ * One member with a number of open issues, each lending a few books
+ * The persistence context is flushed and cleared once seeded
+ */
+public class LibraryFixture {
+
+    private final Category category;
+    private final Member member;
+    private final List<Issue> issues = new ArrayList<>();
+    private final List<IssuedBook> issuedBooks = new ArrayList<>();
+    private final List<Book> availableBooks = new ArrayList<>();
+
+    private LibraryFixture(Category category, Member member) {
+        this.category = category;
+        this.member = member;
+    }
+
+    public static LibraryFixture seed(TestEntityManager entityManager, int issueCount, int booksPerIssue,
+            int availableCount) {
+        Category category = new Category();
+        category.setName("Fiction");
+        entityManager.persist(category);
+        
+        Member member = new Member();
+        member.setType(Constants.MEMBER_STUDENT);
+        member.setFirstName("Test");
+        member.setMiddleName("M");
+        member.setLastName("Member");
+        member.setGender("Male");
+        member.setDateOfBirth(new Date());
+        member.setJoiningDate(new Date());
+        entityManager.persist(member);
+        
+        LibraryFixture fixture = new LibraryFixture(category, member);
+        for (int i = 0; i < issueCount; i++) {
+            Issue issue = new Issue();
+            issue.setMember(member);
+            issue.setIssueDate(new Date());
+            issue.setStatus(Constants.BOOK_NOT_RETURNED);
+            entityManager.persist(issue);
+            fixture.issues.add(issue);
+            for (int b = 0; b < booksPerIssue; b++) {
+                Book book = book(entityManager, category, "I" + i + "-" + b, Constants.BOOK_STATUS_ISSUED);
+                
+                IssuedBook issuedBook = new IssuedBook();
+                issuedBook.setIssue(issue);
+                issuedBook.setBook(book);
+                issuedBook.setReturned(Constants.BOOK_NOT_RETURNED);
+                entityManager.persist(issuedBook);
+                fixture.issuedBooks.add(issuedBook);
+            }
+        }
+        for (int a = 0; a < availableCount; a++) {
+            fixture.availableBooks.add(book(entityManager, category, "A" + a, Constants.BOOK_STATUS_AVAILABLE));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return fixture;
+    }
+
+    private static Book book(TestEntityManager entityManager, Category category, String tag, Integer status) {
+        Book book = new Book();
+        book.setTitle("Book " + tag);
+        book.setTag(tag);
+        book.setAuthors("Author");
+        book.setCategory(category);
+        book.setStatus(status);
+        book.setNumOfCopies(1);
+        book.setAvailableCopies(Constants.BOOK_STATUS_AVAILABLE.equals(status) ? 1 : 0);
+        book.setCreatedDate(new Date());
+        entityManager.persist(book);
+        return book;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+
+    public Member getMember() {
+        return member;
+    }
+
+    public List<Issue> getIssues() {
+        return issues;
+    }
+
+    public List<IssuedBook> getIssuedBooks() {
+        return issuedBooks;
+    }
+
+    public List<Book> getAvailableBooks() {
+        return availableBooks;
+    }
+}
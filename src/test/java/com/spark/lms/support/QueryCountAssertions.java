@@ -0,0 +1,39 @@
+package com.spark.lms.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Assertions on the number of SQL statements issued since the last reset
+ * Use in tests annotated with StatementCountTest, after seeding and calling reset()
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {}
+
+    /**
+     * Start counting from zero
+     */
+    public static void reset() {
+        SqlStatementCounter.reset();
+    }
+
+    public static void assertSelectCount(int expected) {
+        assertEquals(expected, SqlStatementCounter.getSelectCount(), "SELECT statements");
+    }
+
+    public static void assertInsertCount(int expected) {
+        assertEquals(expected, SqlStatementCounter.getInsertCount(), "INSERT statements");
+    }
+
+    public static void assertUpdateCount(int expected) {
+        assertEquals(expected, SqlStatementCounter.getUpdateCount(), "UPDATE statements");
+    }
+
+    public static void assertDeleteCount(int expected) {
+        assertEquals(expected, SqlStatementCounter.getDeleteCount(), "DELETE statements");
+    }
+
+    public static void assertStatementCount(int expected) {
+        assertEquals(expected, SqlStatementCounter.getStatementCount(), "SQL statements");
+    }
+}
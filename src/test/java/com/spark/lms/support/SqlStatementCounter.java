@@ -0,0 +1,72 @@
+package com.spark.lms.support;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate StatementInspector that counts every SQL statement by type
+ * Registered through hibernate.session_factory.statement_inspector in the
+ * "statements" test profile; sees JPQL, Criteria and native statements alike
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final AtomicInteger selects = new AtomicInteger();
+    private static final AtomicInteger inserts = new AtomicInteger();
+    private static final AtomicInteger updates = new AtomicInteger();
+    private static final AtomicInteger deletes = new AtomicInteger();
+    private static final AtomicInteger others = new AtomicInteger();
+
+    @Override
+    public String inspect(String sql) {
+        counterFor(sql).incrementAndGet();
+        return sql;
+    }
+
+    public static void reset() {
+        selects.set(0);
+        inserts.set(0);
+        updates.set(0);
+        deletes.set(0);
+        others.set(0);
+    }
+
+    public static int getSelectCount() {
+        return selects.get();
+    }
+
+    public static int getInsertCount() {
+        return inserts.get();
+    }
+
+    public static int getUpdateCount() {
+        return updates.get();
+    }
+
+    public static int getDeleteCount() {
+        return deletes.get();
+    }
+
+    public static int getStatementCount() {
+        return selects.get() + inserts.get() + updates.get() + deletes.get() + others.get();
+    }
+
+    private static AtomicInteger counterFor(String sql) {
+        String statement = sql.stripLeading().toLowerCase();
+        if (statement.startsWith("select") || statement.startsWith("with")) {
+            return selects;
+        }
+        if (statement.startsWith("insert")) {
+            return inserts;
+        }
+        if (statement.startsWith("update")) {
+            return updates;
+        }
+        if (statement.startsWith("delete")) {
+            return deletes;
+        }
+        return others;
+    }
+}
@@ -0,0 +1,24 @@
+package com.spark.lms.support;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * JPA slice test on H2 with SQL statement counting enabled
+ * Activates the "statements" profile (see application-statements.properties):
+ * schema from the entities, no second-level or query cache, and SqlStatementCounter
+ * registered as the statement inspector. Services under test are added with @Import.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@DataJpaTest
+@ActiveProfiles("statements")
+public @interface StatementCountTest {
+}
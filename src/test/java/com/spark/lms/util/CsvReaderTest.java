@@ -0,0 +1,42 @@
+package com.spark.lms.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+public class CsvReaderTest {
+
+    @Test
+    public void testPlainAndQuotedFields() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("\uFEFFtag,title\r\nT1,\"Dune, Part \"\"One\"\"\"\nT2,\n"));
+
+        assertEquals(Arrays.asList("tag", "title"), csv.next());
+        assertEquals(Arrays.asList("T1", "Dune, Part \"One\""), csv.next());
+        assertEquals(2, csv.getRecordLine());
+        assertEquals(Arrays.asList("T2", ""), csv.next());
+        assertNull(csv.next());
+    }
+
+    @Test
+    public void testLineBreakInQuotedField() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("\"a\nb\",c\nd,e"));
+
+        assertEquals(Arrays.asList("a\nb", "c"), csv.next());
+        assertEquals(Arrays.asList("d", "e"), csv.next());
+        assertEquals(3, csv.getRecordLine());
+        assertNull(csv.next());
+    }
+
+    @Test
+    public void testUnterminatedQuote() {
+        CsvReader csv = new CsvReader(new StringReader("\"open,field\n"));
+
+        assertThrows(IOException.class, csv::next);
+    }
+}
@@ -0,0 +1,66 @@
+package com.spark.lms.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import com.spark.lms.repository.BookRepository;
+import com.spark.lms.repository.MemberRepository;
+import com.spark.lms.support.StatementCountTest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@StatementCountTest
+@ImportAutoConfiguration(AopAutoConfiguration.class)
+@Import({ DatabaseQueryTimer.class, DatabaseQueryTimerTest.Metrics.class })
+public class DatabaseQueryTimerTest {
+
+    @TestConfiguration
+    static class Metrics {
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Test
+    public void testInheritedMethodsAreTaggedByRepository() {
+        bookRepository.findById(1L);
+        bookRepository.findById(2L);
+        memberRepository.findById(1L);
+
+        assertEquals(2, timer("BookRepository", "findById").count());
+        assertEquals(1, timer("MemberRepository", "findById").count());
+        assertNull(meterRegistry.find("libtrack.db.method").tag("class", "CrudRepository").timer());
+    }
+
+    private Timer timer(String className, String method) {
+        Timer timer = meterRegistry.find("libtrack.db.method")
+                .tag("layer", "Repository")
+                .tag("class", className)
+                .tag("method", method)
+                .timer();
+        assertNotNull(timer, className + "." + method);
+        return timer;
+    }
+}